@@ -0,0 +1,103 @@
+package com.example.silverrock.global;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 AES128 (호출마다 Cipher.getInstance) 과 AesCipherEngine (스레드별 Cipher 재사용) 비교
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesCipherBenchmark {
+    private static final String KEY = "benchmark-key-0123456789abcdefgh";
+    private static final String PASSWORD = "silverrock1234!";
+
+    private AES128 legacy;
+    private AesCipherEngine engine;
+    private String encrypted;
+
+    @Setup
+    public void setUp() throws Exception {
+        legacy = new AES128(KEY);
+        engine = new AesCipherEngine(KEY);
+        encrypted = engine.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String legacyEncrypt_1() throws Exception {
+        return new AES128(KEY).encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyEncrypt_8() throws Exception {
+        return new AES128(KEY).encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String legacyEncrypt_32() throws Exception {
+        return new AES128(KEY).encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String engineEncrypt_1() throws Exception {
+        return engine.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String engineEncrypt_8() throws Exception {
+        return engine.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String engineEncrypt_32() throws Exception {
+        return engine.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String legacyDecrypt_1() throws Exception {
+        return legacy.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyDecrypt_8() throws Exception {
+        return legacy.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String legacyDecrypt_32() throws Exception {
+        return legacy.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String engineDecrypt_1() throws Exception {
+        return engine.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String engineDecrypt_8() throws Exception {
+        return engine.decrypt(encrypted);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public String engineDecrypt_32() throws Exception {
+        return engine.decrypt(encrypted);
+    }
+}
@@ -5,8 +5,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing // jpa 감사 기능 활성화
+@EnableScheduling // 추천 배치 등 스케줄 작업 활성화
 @SpringBootApplication
 @EntityScan("com.example.silverrock")
 @EnableJpaRepositories("com.example.silverrock")
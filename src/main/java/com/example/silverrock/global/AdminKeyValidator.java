@@ -0,0 +1,26 @@
+package com.example.silverrock.global;
+
+import com.example.silverrock.global.Response.BaseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+
+import static com.example.silverrock.global.Response.BaseResponseStatus.INVALID_ADMIN_KEY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 관리자 API 키 확인 (admin.api-key 가 설정되지 않으면 관리자 API 전체 차단)
+ */
+@Component
+public class AdminKeyValidator {
+    @Value("${admin.api-key:}")
+    private String adminApiKey;
+
+    public void validate(String key) throws BaseException {
+        if (adminApiKey.isEmpty() || key == null
+                || !MessageDigest.isEqual(adminApiKey.getBytes(UTF_8), key.getBytes(UTF_8))) {
+            throw new BaseException(INVALID_ADMIN_KEY);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.silverrock.global;
+
+import com.example.silverrock.login.jwt.Secret;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * AES128 과 같은 방식(AES/CBC/PKCS5Padding, 키 앞 16바이트를 IV로 사용)의 재사용 가능한 암복호화기
+ * 키/IV 스펙은 한 번만 만들고, Cipher 는 스레드마다 한 번 init 해 두고 재사용 (doFinal 후 init 직후 상태로 돌아감)
+ */
+@Component
+public class AesCipherEngine {
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+    private final SecretKeySpec keySpec;
+    private final IvParameterSpec ivSpec;
+    private final ThreadLocal<Cipher> encryptCipher;
+    private final ThreadLocal<Cipher> decryptCipher;
+
+    public AesCipherEngine() {
+        this(Secret.USER_INFO_PASSWORD_KEY);
+    }
+
+    public AesCipherEngine(String key) {
+        byte[] keyBytes = new byte[16];
+        System.arraycopy(key.getBytes(UTF_8), 0, keyBytes, 0, keyBytes.length);
+        this.keySpec = new SecretKeySpec(keyBytes, "AES");
+        this.ivSpec = new IvParameterSpec(key.substring(0, 16).getBytes(UTF_8));
+        this.encryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+        this.decryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+    }
+
+    //암호화
+    public String encrypt(String value) throws GeneralSecurityException {
+        try {
+            byte[] encrypted = encryptCipher.get().doFinal(value.getBytes(UTF_8));
+            return Base64.getEncoder().encodeToString(encrypted);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            encryptCipher.remove(); // 실패한 Cipher 상태는 보장되지 않으므로 버림
+            throw e;
+        }
+    }
+
+    //복호화
+    public String decrypt(String value) throws GeneralSecurityException {
+        try {
+            byte[] decrypted = decryptCipher.get().doFinal(Base64.getDecoder().decode(value));
+            return new String(decrypted, UTF_8);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            decryptCipher.remove();
+            throw e;
+        }
+    }
+
+    private Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, keySpec, ivSpec);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.silverrock.global;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * 모든 노드에서 도는 @Scheduled 작업을 한 노드만 실행하도록 하는 Redis 잠금 (batch:lock:{name}, SET NX + TTL)
+ * 노드가 죽어도 lease가 지나면 풀림, 잠금을 얻지 못하거나 Redis 장애 시에는 이번 주기를 건너뜀
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchLock {
+    private static final String KEY_PREFIX = "batch:lock:";
+
+    // 내가 잡은 잠금일 때만 해제 (lease가 지나 다른 노드가 잡은 잠금은 건드리지 않음)
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 잠금을 얻은 경우에만 task 실행, 실행했으면 true
+     */
+    public boolean runExclusively(String name, Duration lease, Runnable task) {
+        String key = KEY_PREFIX + name;
+        String token = UUID.randomUUID().toString();
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, token, lease))) {
+                log.debug("Batch {} is running on another node, skipped", name);
+                return false;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Batch lock {} unavailable, skipped", name, e);
+            return false;
+        }
+        try {
+            task.run();
+            return true;
+        } finally {
+            try {
+                stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(key), token);
+            } catch (DataAccessException e) {
+                log.warn("Batch lock {} release failed, expires after lease", name, e);
+            }
+        }
+    }
+}
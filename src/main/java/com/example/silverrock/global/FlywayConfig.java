@@ -0,0 +1,20 @@
+package com.example.silverrock.global;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스키마 마이그레이션 (src/main/resources/db/migration)
+ * ddl-auto로 만들어진 기존 DB는 버전 0으로 기준선을 잡고 V1(IF NOT EXISTS)부터 적용
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
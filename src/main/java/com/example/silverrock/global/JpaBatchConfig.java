@@ -0,0 +1,23 @@
+package com.example.silverrock.global;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate JDBC batch 설정 (설정 파일에 값이 있으면 그 값을 우선)
+ * MySQL에서 실제 multi-row insert로 보내려면 JDBC URL에 rewriteBatchedStatements=true 필요
+ */
+@Configuration
+public class JpaBatchConfig {
+    private static final String BATCH_SIZE = "50";
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", BATCH_SIZE);
+            properties.putIfAbsent("hibernate.order_inserts", "true");
+            properties.putIfAbsent("hibernate.order_updates", "true");
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.silverrock.global;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 조건부 GET(ETag / Last-Modified)용 리소스 버전
+ * 응답 DTO를 만들기 전에 건수, 최종 수정 시각 같은 집계 값만으로 계산하고, 클라이언트 값과 같으면 304로 응답
+ */
+public final class ResourceVersion {
+    private final String etag;
+    private final long lastModified; // epoch millis, 없으면 -1
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 버전을 이루는 값들의 해시로 strong ETag 생성
+     */
+    public static ResourceVersion etag(Object... parts) {
+        String source = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return new ResourceVersion("\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"", -1L);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 단건 리소스에만 사용 (목록은 삭제를 수정 시각으로 알 수 없으므로 ETag만 사용)
+     */
+    public ResourceVersion lastModified(LocalDateTime... timestamps) {
+        long millis = Arrays.stream(timestamps).filter(Objects::nonNull)
+                .mapToLong(t -> t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .max().orElse(-1L);
+        return new ResourceVersion(etag, millis);
+    }
+
+    /**
+     * ETag / Last-Modified 헤더를 쓰고, 변경이 없으면 true (컨트롤러는 본문 없이 반환)
+     */
+    public boolean checkNotModified(WebRequest request) {
+        if (request instanceof ServletWebRequest) {
+            HttpServletResponse response = ((ServletWebRequest) request).getResponse();
+            if (response != null) {
+                // 캐시는 하되 매번 재검증 (Security 기본 no-store 헤더 대신 사용)
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+            }
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
@@ -24,6 +24,9 @@ public enum BaseResponseStatus {
     EMPTY_JWT(false, HttpStatus.UNAUTHORIZED.value(), "JWT를 입력해주세요."),
     INVALID_JWT(false, HttpStatus.UNAUTHORIZED.value(), "유효하지 않은 JWT입니다."),
     INVALID_USER_JWT(false,HttpStatus.FORBIDDEN.value(),"권한이 없는 유저의 접근입니다."),
+    INVALID_ADMIN_KEY(false,HttpStatus.FORBIDDEN.value(),"관리자 권한이 없습니다."),
+    UNSUPPORTED_IMPORT_FORMAT(false, HttpStatus.BAD_REQUEST.value(), "text/csv 또는 application/x-ndjson 형식만 가능합니다."),
+    FAILED_TO_IMPORT(false, HttpStatus.INTERNAL_SERVER_ERROR.value(), "일괄 등록 파일을 읽는데 실패하였습니다."),
     RESPONSE_ERROR(false, HttpStatus.NOT_FOUND.value(), "값을 불러오는데 실패하였습니다."),
     REQUIRED_REFRESH(false, HttpStatus.NOT_FOUND.value(), "액세스 토큰이 유효하지 않습니다. 리프레시 토큰을 가지고 액세스 토큰을 재발급해주세요."),
 
@@ -45,6 +48,8 @@ public enum BaseResponseStatus {
     NONE_NEAR(false, HttpStatus.NOT_FOUND.value(), "근처 사용자가 없습니다."),
     NONE_RECEIVED(false, HttpStatus.NOT_FOUND.value(), "요청받은 매칭이 없습니다."),
     NONE_FREIND(false, HttpStatus.NOT_FOUND.value(), "매칭된 친구가 없습니다."),
+    LOCATION_NOT_FOUND(false, HttpStatus.NOT_FOUND.value(), "위치 정보가 등록되지 않았습니다."),
+    INVALID_LOCATION(false, HttpStatus.BAD_REQUEST.value(), "위치 정보를 확인해주세요."),
 
 
     /**
@@ -66,7 +71,9 @@ public enum BaseResponseStatus {
     //매칭 요청시 이미 친구 일때
     ALREADY_FRIEND_REQUEST(false, HttpStatus.NOT_FOUND.value(), "이미 매칭된 친구입니다."),
     //매칭 요청시 이미 상대에게서 온 요청이 있을때
-    ALREADY_RECEIVED_REQUEST(false, HttpStatus.NOT_FOUND.value(), "이미 상대로부터 받은 요청이 있습니다.");
+    ALREADY_RECEIVED_REQUEST(false, HttpStatus.NOT_FOUND.value(), "이미 상대로부터 받은 요청이 있습니다."),
+    //같은 Idempotency-Key로 다른 상대에게 요청했을때
+    IDEMPOTENCY_KEY_REUSED(false, HttpStatus.BAD_REQUEST.value(), "다른 요청에 사용된 Idempotency-Key입니다.");
 
     private final boolean isSuccess;
     private final int code;
@@ -2,8 +2,6 @@ package com.example.silverrock.global;
 
 
 import com.example.silverrock.global.Response.BaseException;
-import com.example.silverrock.login.jwt.Token;
-import com.example.silverrock.login.jwt.TokenRepository;
 import com.example.silverrock.user.User;
 import com.example.silverrock.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +24,6 @@ public class UtilService {
     public static final int MONTH = 12;
 
 
-    private final TokenRepository tokenRepository;
     private final UserRepository userRepository;
 
     public User findByUserIdWithValidation(Long userId) throws BaseException {
@@ -35,13 +32,6 @@ public class UtilService {
     }
 
 
-    public Token findTokenByUserIdWithValidation(Long userId) throws BaseException {
-        return tokenRepository.findTokenByUserId(userId)
-                .orElseThrow(() -> new BaseException(INVALID_USER_JWT));
-    }
-
-
-
     public static String convertLocalDateTimeToLocalDate(LocalDateTime localDateTime) {
         return localDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
     }
@@ -1,20 +1,32 @@
 package com.example.silverrock.global;
 
+import com.example.silverrock.login.jwt.JwtAuthenticationFilter;
+import com.example.silverrock.login.jwt.JwtService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity // SpringSecurity 사용을 위한 어노테이션, 기본적으로 CSRF 활성화
 // SpringSecurity란, Spring기반의 애플리케이션의 보안(인증, 권한, 인가 등)을 담당하는 Spring 하위 프레임워크이다.
+@RequiredArgsConstructor
 public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
+    private final JwtService jwtService;
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http.csrf().disable(); // CSRF(사용자의 권한을 가지고 특정 동작을 수행하도록 유도하는 공격) 비활성화,
         // REST API 서버는 stateless하게 개발하기 때문에 사용자 정보를 Session에 저장 안함
         // jwt 토큰을 Cookie에 저장하지 않는다면, CSRF에 어느정도는 안전.
+        http.sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+        // JWT는 필터에서 요청당 한 번만 검증하고, 컨트롤러/서비스는 SecurityContext에서 유저 고유번호를 꺼내 씀
+        // (Bean으로 등록하면 서블릿 필터로도 한 번 더 등록되므로 여기서만 생성)
+        http.addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
     }
 
     /**
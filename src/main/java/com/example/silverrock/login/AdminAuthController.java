@@ -0,0 +1,31 @@
+package com.example.silverrock.login;
+
+import com.example.silverrock.global.AdminKeyValidator;
+import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.global.Response.BaseResponse;
+import com.example.silverrock.login.dto.GetTokenCacheStatsRes;
+import com.example.silverrock.login.jwt.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/auth")
+public class AdminAuthController {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AdminKeyValidator adminKeyValidator;
+
+    /**
+     * 검증된 토큰 캐시 적중률 조회 (캐시 크기 조정용)
+     */
+    @GetMapping("/token-cache")
+    public BaseResponse<GetTokenCacheStatsRes> getTokenCacheStats(@RequestHeader(value = "X-Admin-Key", required = false) String adminKey) {
+        try {
+            adminKeyValidator.validate(adminKey);
+            return new BaseResponse<>(verifiedTokenCache.stats());
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+}
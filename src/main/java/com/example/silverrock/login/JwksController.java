@@ -0,0 +1,28 @@
+package com.example.silverrock.login;
+
+import com.example.silverrock.login.jwt.JwtKeyStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+public class JwksController {
+
+    private final JwtKeyStore jwtKeyStore;
+
+    /**
+     * JWT 검증용 공개 키 (JWKS 표준 형식이라 BaseResponse로 감싸지 않음, 검증 측에서 캐시)
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeyStore.toJwks());
+    }
+}
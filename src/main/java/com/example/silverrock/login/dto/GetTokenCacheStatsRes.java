@@ -0,0 +1,17 @@
+package com.example.silverrock.login.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetTokenCacheStatsRes {
+    private int size; // 현재 캐시된 토큰 수
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long evictions; // 용량 초과로 밀려난 수 (만료 제거 제외)
+    private double hitRate;
+}
@@ -0,0 +1,32 @@
+package com.example.silverrock.login.jwt;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import java.util.Collections;
+
+/**
+ * 요청당 한 번 검증된 JWT 인증 정보 (principal = 유저 고유번호)
+ */
+public class JwtAuthentication extends AbstractAuthenticationToken {
+    private final Long userId;
+
+    public JwtAuthentication(Long userId) {
+        super(Collections.emptyList());
+        this.userId = userId;
+        setAuthenticated(true);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return userId;
+    }
+}
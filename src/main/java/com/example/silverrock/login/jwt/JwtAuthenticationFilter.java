@@ -0,0 +1,47 @@
+package com.example.silverrock.login.jwt;
+
+import com.example.silverrock.global.Response.BaseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Authorization 헤더의 JWT를 요청당 한 번만 검증해서 SecurityContext에 넣는 필터
+ * 검증 실패 시 요청을 막지 않고 실패 상태만 기록 -> JwtService.getUserIdx()가 기존과 같은 BaseException을 던짐
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    public static final String AUTHENTICATION_ERROR_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".error";
+
+    private final JwtService jwtService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 로그아웃은 만료된 토큰도 재발급 없이 처리해야 하므로 getLogoutUserIdx()에서 따로 검증
+        return request.getServletPath().equals("/user/logout");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String accessToken = request.getHeader("Authorization");
+        if (accessToken != null && !accessToken.isEmpty()) {
+            try {
+                Long userId = jwtService.authenticate(accessToken);
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new JwtAuthentication(userId));
+                SecurityContextHolder.setContext(context);
+            } catch (BaseException exception) {
+                request.setAttribute(AUTHENTICATION_ERROR_ATTRIBUTE, exception.getStatus());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
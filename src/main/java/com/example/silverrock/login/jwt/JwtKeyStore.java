@@ -0,0 +1,174 @@
+package com.example.silverrock.login.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT ES256 서명/검증 키 (kid 별)
+ * - 서명: jwt.es256.private-key / public-key / key-id (PKCS#8, X.509 base64 또는 PEM)
+ *   미설정 시 기동 실패, 로컬 개발에서만 jwt.es256.allow-ephemeral-key=true 로 기동마다 임시 키 생성
+ *   (임시 키는 노드마다 달라 다른 노드에서 검증되지 않고, 재시작하면 모든 토큰이 무효가 됨)
+ * - 검증: 현재 키 + jwt.es256.previous-public-keys("kid:base64,...") -> 키 교체 후에도 이전 토큰이 만료될 때까지 검증 가능
+ * - jwt.jwks-uri 가 있으면 모르는 kid는 원격 JWKS에서 받아 캐시 (서명 키 없이 검증만 하는 노드용)
+ * - jwt.legacy-hmac.enabled=true 동안은 kid 없는 기존 HS256 토큰도 검증 (기본 false)
+ *   ES256 전환 배포 때만 켜고, refresh token 유효기간(1일)이 지나면 끔
+ */
+@Slf4j
+@Component
+public class JwtKeyStore {
+    private static final long REMOTE_REFRESH_INTERVAL_MS = 30_000L; // 모르는 kid로 원격 JWKS를 너무 자주 부르지 않도록
+
+    private final String signingKeyId;
+    private final PrivateKey signingKey;
+    private final Map<String, ECPublicKey> localKeys = new LinkedHashMap<>(); // 현재 키가 맨 앞
+    private final Map<String, ECPublicKey> remoteKeys = new ConcurrentHashMap<>();
+    private final Key legacyHmacKey;
+    private final String jwksUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private volatile long lastRemoteFetch;
+
+    public JwtKeyStore(@Value("${jwt.es256.key-id:}") String keyId,
+                       @Value("${jwt.es256.private-key:}") String privateKey,
+                       @Value("${jwt.es256.public-key:}") String publicKey,
+                       @Value("${jwt.es256.previous-public-keys:}") String[] previousPublicKeys,
+                       @Value("${jwt.jwks-uri:}") String jwksUri,
+                       @Value("${jwt.legacy-hmac.enabled:false}") boolean legacyHmacEnabled,
+                       @Value("${jwt.es256.allow-ephemeral-key:false}") boolean allowEphemeralKey,
+                       ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.jwksUri = jwksUri;
+        this.legacyHmacKey = legacyHmacEnabled ? Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(Secret.JWT_SECRET_KEY)) : null;
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            if (privateKey.isBlank()) {
+                if (!allowEphemeralKey) {
+                    throw new IllegalStateException("jwt.es256.private-key is not set "
+                            + "(set jwt.es256.allow-ephemeral-key=true only for local development)");
+                }
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair keyPair = generator.generateKeyPair();
+                this.signingKeyId = UUID.randomUUID().toString();
+                this.signingKey = keyPair.getPrivate();
+                localKeys.put(signingKeyId, (ECPublicKey) keyPair.getPublic());
+                log.warn("jwt.es256.private-key is not set, using an ephemeral signing key (kid={})", signingKeyId);
+            } else {
+                this.signingKeyId = keyId.isBlank() ? "default" : keyId;
+                this.signingKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKey)));
+                localKeys.put(signingKeyId, (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKey))));
+            }
+            for (String entry : previousPublicKeys) {
+                int separator = entry.indexOf(':');
+                if (separator > 0) {
+                    localKeys.putIfAbsent(entry.substring(0, separator).trim(),
+                            (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(entry.substring(separator + 1)))));
+                }
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT signing key configuration", e);
+        }
+    }
+
+    public String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    public PrivateKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * 토큰 헤더의 kid로 검증 키 조회 (kid 없으면 기존 HMAC 키, 모르는 kid면 null)
+     */
+    public Key resolve(String kid) {
+        if (kid == null) {
+            return legacyHmacKey;
+        }
+        Key key = localKeys.get(kid);
+        if (key == null) {
+            key = remoteKeys.get(kid);
+        }
+        if (key == null && !jwksUri.isBlank()) {
+            fetchRemoteKeys();
+            key = remoteKeys.get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * 공개 키 목록 (JWKS 형식)
+     */
+    public Map<String, Object> toJwks() {
+        List<Map<String, String>> keys = new ArrayList<>();
+        localKeys.forEach((kid, publicKey) -> {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("kid", kid);
+            jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY()));
+            keys.add(jwk);
+        });
+        return Map.of("keys", keys);
+    }
+
+    private synchronized void fetchRemoteKeys() {
+        long now = System.currentTimeMillis();
+        if (now - lastRemoteFetch < REMOTE_REFRESH_INTERVAL_MS) {
+            return;
+        }
+        lastRemoteFetch = now;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(jwksUri)).timeout(Duration.ofSeconds(2)).GET().build();
+            JsonNode jwks = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+            for (JsonNode jwk : jwks.path("keys")) {
+                if ("EC".equals(jwk.path("kty").asText()) && "P-256".equals(jwk.path("crv").asText())) {
+                    remoteKeys.put(jwk.path("kid").asText(), toPublicKey(jwk.path("x").asText(), jwk.path("y").asText()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to fetch JWKS from {}", jwksUri, e);
+        }
+    }
+
+    private static ECPublicKey toPublicKey(String x, String y) throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECPoint point = new ECPoint(new BigInteger(1, Base64.getUrlDecoder().decode(x)), new BigInteger(1, Base64.getUrlDecoder().decode(y)));
+        ECPublicKeySpec spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+        return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(spec);
+    }
+
+    // P-256 좌표는 부호 없는 32바이트 big-endian
+    private static String encodeCoordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static byte[] decodePem(String value) {
+        return Base64.getDecoder().decode(value.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", ""));
+    }
+}
@@ -2,18 +2,17 @@ package com.example.silverrock.login.jwt;
 
 import com.example.silverrock.login.dto.JwtResponseDTO;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtProvider {
-    private static final long REFRESH_TOKEN_EXPIRE_TIME = 1 * 24 * 60 * 60 * 1000L; //refreshToken 유효기간 1일
+    static final long REFRESH_TOKEN_EXPIRE_TIME = 1 * 24 * 60 * 60 * 1000L; //refreshToken 유효기간 1일
   //  private static final long ACCESS_TOKEN_EXPIRE_TIME = 1 * 60 * 60 * 1000L; //accessToken 유효기간 1시간
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 1 * 24 * 60 * 60 * 1000L; //accessToken 유효기간 1일
 
@@ -21,7 +20,37 @@ public class JwtProvider {
     // private static final long ACCESS_TOKEN_EXPIRE_TIME = 10 * 1000L; //유효기간 10초, refrshToken 테스트를 위해 사용
     private static final String BEARER_TYPE = "Bearer";
 
-    private Key key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(Secret.JWT_SECRET_KEY));
+    private final JwtKeyStore jwtKeyStore;
+    private final JwtParser parser; // 스레드 안전하므로 하나만 만들어 공유
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtProvider(JwtKeyStore jwtKeyStore, VerifiedTokenCache verifiedTokenCache, TokenRevocationService tokenRevocationService) {
+        this.jwtKeyStore = jwtKeyStore;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        // 헤더의 kid로 검증 키 선택 (ES256), kid 없는 기존 HS256 토큰은 설정에 따라 HMAC 키로 검증
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    @SuppressWarnings("rawtypes") // jjwt 0.11의 SigningKeyResolverAdapter가 raw JwsHeader로 선언되어 있어 JwsHeader<?>로는 재정의할 수 없음
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = jwtKeyStore.resolve(header.getKeyId());
+                        if (key == null) {
+                            throw new io.jsonwebtoken.security.SignatureException("Unknown JWT key id");
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 서명 검증 후 claims 반환 (만료/위조 시 jjwt 예외)
+     */
+    public Jws<Claims> parse(String token) {
+        return parser.parseClaimsJws(token);
+    }
 
     //==토큰 생성 메소드==//
     public String createToken(Long userId) {
@@ -30,11 +59,13 @@ public class JwtProvider {
 
         return Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE) // (1)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyStore.getSigningKeyId()) // 검증 측이 JWKS에서 공개 키를 찾는 kid
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 구분하기 위한 jti
                 .claim("userId", userId)
                 .setIssuer("test") // 토큰발급자(iss)
                 .setIssuedAt(now) // 발급시간(iat)
                 .setExpiration(expiration) // 만료시간(exp)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(jwtKeyStore.getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -44,11 +75,13 @@ public class JwtProvider {
 
         return Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE) // (1)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyStore.getSigningKeyId())
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 구분하기 위한 jti
                 .claim("userId", userId)
                 .setIssuer("test") // 토큰발급자(iss)
                 .setIssuedAt(now) // 발급시간(iat)
                 .setExpiration(expiration) // 만료시간(exp)
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(jwtKeyStore.getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -59,17 +92,21 @@ public class JwtProvider {
         // Access Token 생성
         String accessToken = Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE) // (1)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyStore.getSigningKeyId())
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 구분하기 위한 jti
                 .claim("userId", userId)
                 .setExpiration(new Date(now + ACCESS_TOKEN_EXPIRE_TIME)) // 만료시간
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(jwtKeyStore.getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
 
         // Refresh Token 생성
         String refreshToken = Jwts.builder()
                 .setHeaderParam(Header.TYPE, Header.JWT_TYPE) // (1)
+                .setHeaderParam(JwsHeader.KEY_ID, jwtKeyStore.getSigningKeyId())
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 구분하기 위한 jti
                 .claim("userId", userId)
                 .setExpiration(new Date(now + REFRESH_TOKEN_EXPIRE_TIME))
-                .signWith(key, SignatureAlgorithm.HS256)
+                .signWith(jwtKeyStore.getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
 
         return JwtResponseDTO.TokenInfo.builder()
@@ -78,9 +115,12 @@ public class JwtProvider {
                 .build();
     }
 
-    private Claims parseClaims(String accessToken) {
+    /**
+     * 만료된 토큰도 서명만 맞으면 claims 반환
+     */
+    public Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+            return parser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -99,8 +139,16 @@ public class JwtProvider {
 
     // 토큰 정보를 검증하는 메서드
     public boolean validateToken(String token) {
+        if (token != null && verifiedTokenCache.get(token) != null) { // 이미 검증된 토큰
+            return true;
+        }
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                log.info("Revoked JWT Token");
+                return false;
+            }
+            verifiedTokenCache.put(token, claims);
             return true;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT Token", e);
@@ -121,10 +169,7 @@ public class JwtProvider {
 
     public Long getExpiration(String accessToken) {
         // accessToken 남은 유효시간
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(accessToken)
+        Date expiration = parser.parseClaimsJws(accessToken)
                 .getBody()
                 .getExpiration();
         // 현재 시간
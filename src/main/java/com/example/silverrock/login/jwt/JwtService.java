@@ -1,19 +1,21 @@
 package com.example.silverrock.login.jwt;
 
 import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.global.Response.BaseResponseStatus;
 import com.example.silverrock.global.UtilService;
+import com.example.silverrock.login.dto.JwtResponseDTO;
 import com.example.silverrock.user.User;
 import com.example.silverrock.user.UserRepository;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
-import java.security.Key;
+import javax.servlet.http.HttpServletResponse;
 
 import static com.example.silverrock.global.Response.BaseResponseStatus.*;
 
@@ -21,11 +23,12 @@ import static com.example.silverrock.global.Response.BaseResponseStatus.*;
 @Service
 @RequiredArgsConstructor
 public class JwtService {
-    private Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(Secret.JWT_SECRET_KEY));
     private final JwtProvider jwtProvider;
     private final UtilService utilService;
     private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
+    private final TokenStore tokenStore;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Header에서 Authorization 으로 JWT 추출
@@ -42,43 +45,47 @@ public class JwtService {
 
     /**
      * JWT에서 userId 추출
+     * JwtAuthenticationFilter가 이미 검증했으면 SecurityContext의 값을 그대로 사용 (서명 검증, DB 조회 없음)
      */
     public Long getUserIdx() throws BaseException {
-        // 1. JWT 추출
-        String accessToken = getJwt();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthentication) {
+            return ((JwtAuthentication) authentication).getUserId();
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        Object error = request.getAttribute(JwtAuthenticationFilter.AUTHENTICATION_ERROR_ATTRIBUTE);
+        if (error instanceof BaseResponseStatus) { // 필터에서 이미 실패한 토큰은 다시 검증하지 않음
+            throw new BaseException((BaseResponseStatus) error);
+        }
+        return authenticate(getJwt());
+    }
+
+    /**
+     * access token 검증 후 userId 반환 (만료 시 refresh token으로 재발급)
+     */
+    public Long authenticate(String accessToken) throws BaseException {
+        // 1. JWT 확인
         if (accessToken == null || accessToken.length() == 0) {
             throw new BaseException(EMPTY_JWT);
         }
+        Long cachedUserId = verifiedTokenCache.get(accessToken);
+        if (cachedUserId != null) { // 이미 검증된 토큰이면 서명 검증, 유저 조회 생략
+            return cachedUserId;
+        }
         try {
             // 2. JWT parsing
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(accessToken);
+            Jws<Claims> claims = jwtProvider.parse(accessToken);
             // 3. userId 추출
+            if (tokenRevocationService.isRevoked(claims.getBody().getId())) { // 로그아웃 등으로 폐기된 토큰
+                throw new BaseException(INVALID_JWT);
+            }
             Long userId = claims.getBody().get("userId", Long.class);
             User user = utilService.findByUserIdWithValidation(userId);
+            verifiedTokenCache.put(accessToken, claims.getBody());
             return userId;
         } catch (ExpiredJwtException e) {
-            // access token이 만료된 경우
-            User user = tokenRepository.findUserByAccessToken(accessToken).orElse(null);
-            if (user == null) {
-                throw new BaseException(INVALID_JWT);
-            }
-            // 4. Refresh Token을 사용하여 새로운 Access Token 발급
-            Token token = tokenRepository.findTokenByUserId(user.getId()).orElse(null);
-            String refreshToken = token.getRefreshToken();
-            if (refreshToken != null) {
-                String newAccessToken = refreshAccessToken(user, refreshToken);
-                // 새로운 Access Token으로 업데이트된 JWT를 사용하여 userId 추출
-                Jws<Claims> newClaims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(newAccessToken);
-                return newClaims.getBody().get("userId", Long.class);
-            } else {
-                throw new BaseException(EMPTY_JWT);
-            }
+            // access token이 만료된 경우 4. Refresh Token을 사용하여 새로운 토큰 발급
+            return refreshSession(accessToken, INVALID_JWT);
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             throw new BaseException(INVALID_JWT);
         } catch (Exception ignored) {
@@ -101,10 +108,7 @@ public class JwtService {
 
         try {
             // 2. JWT parsing
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(accessToken);
+            Jws<Claims> claims = jwtProvider.parse(accessToken);
             // 3. userId 추출
             return claims.getBody().get("userId", Long.class);
         } catch (ExpiredJwtException e) {
@@ -118,28 +122,40 @@ public class JwtService {
     }
 
     /**
-     * 액세스 토큰 재발급
+     * 만료된 access token의 세션으로 토큰 재발급 (refresh token 회전)
+     * 새 토큰은 응답 헤더 Authorization / AuthorizationRef 로 내려줌
      */
-    private String refreshAccessToken(User user, String refreshToken) throws BaseException {
-        try {
-            // 리프레시 토큰이 만료 등의 이유로 유효하지 않은 경우
-            if (!jwtProvider.validateToken(refreshToken)) {
-                throw new BaseException(INVALID_JWT);
-            }
-            else { // 리프레시 토큰이 유효한 경우
-                Long userId = user.getId();
-                String refreshedAccessToken = jwtProvider.createToken(userId);
-                // 액세스 토큰 재발급에 성공한 경우
-                if (refreshedAccessToken != null) {
-                    Token token = utilService.findTokenByUserIdWithValidation(userId);
-                    token.updateAccessToken(refreshedAccessToken);
-                    tokenRepository.save(token);
-                    return refreshedAccessToken;
-                }
-                throw new BaseException(FAILED_TO_REFRESH);
-            }
-        } catch (BaseException exception) {
-            throw new BaseException(exception.getStatus());
+    private Long refreshSession(String accessToken, BaseResponseStatus notFoundStatus) throws BaseException {
+        Long userId = tokenStore.findUserIdByAccessToken(accessToken);
+        if (userId == null) { // 로그아웃 했거나 세션이 만료된 경우
+            throw new BaseException(notFoundStatus);
+        }
+        JwtResponseDTO.TokenInfo session = tokenStore.findByUserId(userId);
+        if (session == null) {
+            throw new BaseException(EMPTY_JWT);
+        }
+        // 동시에 들어온 다른 요청이 방금 재발급했다면 그 토큰을 그대로 사용
+        if (!accessToken.equals(session.getAccessToken()) && jwtProvider.validateToken(session.getAccessToken())) {
+            writeTokenHeaders(session);
+            return userId;
+        }
+        // 리프레시 토큰이 만료 등의 이유로 유효하지 않은 경우
+        if (!jwtProvider.validateToken(session.getRefreshToken())) {
+            throw new BaseException(INVALID_JWT);
+        }
+        JwtResponseDTO.TokenInfo refreshed = jwtProvider.generateToken(userId);
+        if (!tokenStore.rotate(userId, session.getRefreshToken(), refreshed)) {
+            throw new BaseException(FAILED_TO_REFRESH);
+        }
+        writeTokenHeaders(refreshed);
+        return userId;
+    }
+
+    private void writeTokenHeaders(JwtResponseDTO.TokenInfo tokenInfo) {
+        HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        if (response != null) {
+            response.setHeader("Authorization", tokenInfo.getAccessToken());
+            response.setHeader("AuthorizationRef", tokenInfo.getRefreshToken());
         }
     }
 
@@ -151,32 +167,12 @@ public class JwtService {
         }
         try {
             // 2. JWT parsing
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(accessToken);
+            Jws<Claims> claims = jwtProvider.parse(accessToken);
             // 3. userId 추출
             return claims.getBody().get("userId", Long.class);
         } catch (ExpiredJwtException e) {
-            // access token이 만료된 경우
-            User user = tokenRepository.findUserByAccessToken(accessToken).orElse(null);
-            if(user == null) {
-                throw new BaseException(INVALID_USER_JWT);
-            }
-            // 4. Refresh Token을 사용하여 새로운 Access Token 발급
-            Token token = utilService.findTokenByUserIdWithValidation(user.getId());
-            String refreshToken = token.getRefreshToken();
-            if (refreshToken != null) {
-                String newAccessToken = refreshAccessToken(user, refreshToken);
-                // 새로운 Access Token으로 업데이트된 JWT를 사용하여 userId 추출
-                Jws<Claims> newClaims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(newAccessToken);
-                return newClaims.getBody().get("memberId", Long.class);
-            } else {
-                throw new BaseException(EMPTY_JWT);
-            }
+            // access token이 만료된 경우 4. Refresh Token을 사용하여 새로운 토큰 발급
+            return refreshSession(accessToken, INVALID_USER_JWT);
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             throw new BaseException(INVALID_JWT);
         } catch (Exception ignored) {
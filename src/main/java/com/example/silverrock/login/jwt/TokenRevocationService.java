@@ -0,0 +1,125 @@
+package com.example.silverrock.login.jwt;
+
+import com.example.silverrock.global.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * 로그아웃 등으로 폐기된 토큰(jti) 목록
+ * Redis revoked:jti:{jti} 에 남은 유효시간만큼 저장하고, 노드마다 pub/sub 으로 동기화한 Bloom filter 로 먼저 확인
+ * filter 에 없으면 Redis 조회 없이 유효, 있을 수도 있으면 Redis 로 확인 (오탐만 Redis까지 감)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    private static final String REVOKED_PREFIX = "revoked:jti:";
+    private static final String CHANNEL = "token:revoked";
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${jwt.revocation.expected-size:100000}")
+    private long expectedSize;
+
+    private volatile BloomFilter revoked = new BloomFilter(1, FALSE_POSITIVE_RATE); // 적재 전 빈 filter
+    private volatile BloomFilter rebuilding; // 재생성 중 들어온 jti도 놓치지 않도록 함께 기록
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> remember(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 기동 시, 그리고 만료된 jti를 filter 에서 비우기 위해 주기적으로 Redis 에서 다시 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-ms:3600000}", fixedDelayString = "${jwt.revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        BloomFilter filter = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+        rebuilding = filter;
+        try {
+            stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+                scanInto(connection, filter);
+                return null;
+            });
+            revoked = filter;
+            loaded = true;
+            log.info("Token revocation filter rebuilt");
+        } catch (DataAccessException e) {
+            log.warn("Token revocation filter rebuild failed", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * 토큰 폐기 (이미 만료된 토큰이나 jti 없는 토큰은 무시)
+     */
+    public void revoke(String jti, Date expiration) {
+        if (jti == null || expiration == null) {
+            return;
+        }
+        long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(REVOKED_PREFIX + jti, "1", Duration.ofMillis(remainingMillis));
+        remember(jti);
+        stringRedisTemplate.convertAndSend(CHANNEL, jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (loaded && !revoked.mightContain(jti)) {
+            return false; // 확실히 폐기되지 않은 토큰
+        }
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(REVOKED_PREFIX + jti));
+        } catch (DataAccessException e) {
+            log.warn("Token revocation lookup failed", e);
+            return true; // 확인할 수 없으면 폐기된 것으로 처리
+        }
+    }
+
+    private void remember(String jti) {
+        revoked.put(jti);
+        BloomFilter filter = rebuilding;
+        if (filter != null) {
+            filter.put(jti);
+        }
+    }
+
+    private static void scanInto(RedisConnection connection, BloomFilter filter) {
+        ScanOptions options = ScanOptions.scanOptions().match(REVOKED_PREFIX + "*").count(1000).build();
+        try (Cursor<byte[]> cursor = connection.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                filter.put(key.substring(REVOKED_PREFIX.length()));
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.silverrock.login.jwt;
+
+import com.example.silverrock.login.dto.JwtResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 로그인 세션(access/refresh 토큰) Redis 저장소
+ * token:user:{userId}  -> hash (access, accessHash, refresh), refresh token 유효기간 TTL
+ * token:access:{hash}  -> userId, 만료된 access token으로 재발급할 유저를 찾기 위한 역색인 (같은 TTL)
+ * 스크립트는 KEYS로 넘긴 키만 다룸 (이전 access 키는 accessHash를 먼저 읽어 넘기고, 그 사이 바뀌면 다시 시도)
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenStore {
+    private static final String USER_PREFIX = "token:user:";
+    private static final String ACCESS_PREFIX = "token:access:";
+    private static final long ROTATION_GRACE_SECONDS = 60; // 재발급 직후 동시 요청이 이전 access token으로 들어와도 찾을 수 있도록
+
+    private static final int MAX_ATTEMPTS = 3; // 읽어 둔 이전 access 해시가 그 사이 바뀌었을 때 재시도 횟수
+
+    // 스크립트가 건드리는 키는 모두 KEYS로 넘김 (이전 access 키는 미리 읽은 accessHash로 만들고, 스크립트에서 그대로인지 확인)
+    // KEYS: user 키, 새 access 키, (이전 access 키) / ARGV: access, accessHash, refresh, userId, TTL(초), 이전 access 키 유예(초), 기대하는 refresh, 읽어 둔 이전 accessHash
+    // ARGV[7]이 비어 있지 않으면 저장된 refresh token이 같을 때만 교체 (재발급 회전), 이전 accessHash가 바뀌었으면 -1
+    private static final DefaultRedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[7] ~= '' and redis.call('hget', KEYS[1], 'refresh') ~= ARGV[7] then return 0 end " +
+            "local old = redis.call('hget', KEYS[1], 'accessHash') or '' " +
+            "if old ~= ARGV[8] then return -1 end " +
+            "if #KEYS > 2 and old ~= ARGV[2] then " +
+            "  if tonumber(ARGV[6]) > 0 then redis.call('expire', KEYS[3], ARGV[6]) else redis.call('del', KEYS[3]) end " +
+            "end " +
+            "redis.call('hset', KEYS[1], 'access', ARGV[1], 'accessHash', ARGV[2], 'refresh', ARGV[3]) " +
+            "redis.call('expire', KEYS[1], ARGV[5]) " +
+            "redis.call('set', KEYS[2], ARGV[4], 'EX', ARGV[5]) " +
+            "return 1", Long.class);
+
+    // KEYS: user 키, (이전 access 키) / ARGV: 읽어 둔 이전 accessHash, 바뀌었으면 -1
+    private static final DefaultRedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>(
+            "local old = redis.call('hget', KEYS[1], 'accessHash') or '' " +
+            "if old ~= ARGV[1] then return -1 end " +
+            "if #KEYS > 1 then redis.call('del', KEYS[2]) end " +
+            "return redis.call('del', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 로그인 시 세션 저장 (기존 세션은 덮어씀)
+     */
+    public void save(Long userId, JwtResponseDTO.TokenInfo tokenInfo) {
+        execute(userId, tokenInfo, "", 0);
+    }
+
+    /**
+     * 재발급 시 refresh token 회전, 그 사이 다른 요청이 먼저 회전했으면 false
+     */
+    public boolean rotate(Long userId, String expectedRefreshToken, JwtResponseDTO.TokenInfo tokenInfo) {
+        return execute(userId, tokenInfo, expectedRefreshToken, ROTATION_GRACE_SECONDS);
+    }
+
+    public Long findUserIdByAccessToken(String accessToken) {
+        if (accessToken == null || accessToken.isEmpty()) {
+            return null;
+        }
+        String userId = stringRedisTemplate.opsForValue().get(ACCESS_PREFIX + hash(accessToken));
+        return (userId == null) ? null : Long.valueOf(userId);
+    }
+
+    /**
+     * 현재 세션 토큰 (없으면 null)
+     */
+    public JwtResponseDTO.TokenInfo findByUserId(Long userId) {
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(USER_PREFIX + userId, Arrays.asList("access", "refresh"));
+        if (values.get(0) == null || values.get(1) == null) {
+            return null;
+        }
+        return new JwtResponseDTO.TokenInfo((String) values.get(0), (String) values.get(1));
+    }
+
+    public void delete(Long userId) {
+        String userKey = USER_PREFIX + userId;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String oldHash = currentAccessHash(userKey);
+            Long result = stringRedisTemplate.execute(DELETE_SCRIPT, keys(oldHash, userKey), oldHash);
+            if (result == null || result != -1L) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Session of user " + userId + " kept changing during logout");
+    }
+
+    private boolean execute(Long userId, JwtResponseDTO.TokenInfo tokenInfo, String expectedRefreshToken, long graceSeconds) {
+        String userKey = USER_PREFIX + userId;
+        String accessHash = hash(tokenInfo.getAccessToken());
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String oldHash = currentAccessHash(userKey);
+            Long result = stringRedisTemplate.execute(SAVE_SCRIPT, keys(oldHash, userKey, ACCESS_PREFIX + accessHash),
+                    tokenInfo.getAccessToken(), accessHash, tokenInfo.getRefreshToken(), String.valueOf(userId),
+                    String.valueOf(JwtProvider.REFRESH_TOKEN_EXPIRE_TIME / 1000),
+                    String.valueOf(graceSeconds), expectedRefreshToken, oldHash);
+            if (result == null || result != -1L) {
+                return result != null && result == 1L;
+            }
+        }
+        return false; // 계속 다른 요청이 먼저 세션을 바꾼 경우
+    }
+
+    // 세션에 저장된 access token 해시 (없으면 "")
+    private String currentAccessHash(String userKey) {
+        Object oldHash = stringRedisTemplate.opsForHash().get(userKey, "accessHash");
+        return (oldHash == null) ? "" : (String) oldHash;
+    }
+
+    // 이전 access 키가 있으면 마지막 KEYS로 추가
+    private static List<String> keys(String oldHash, String... keys) {
+        List<String> declared = new ArrayList<>(Arrays.asList(keys));
+        if (!oldHash.isEmpty()) {
+            declared.add(ACCESS_PREFIX + oldHash);
+        }
+        return declared;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.silverrock.login.jwt;
+
+import com.example.silverrock.login.dto.GetTokenCacheStatsRes;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검증이 끝난 JWT 캐시 (토큰 SHA-256 -> userId, jti, 만료 시각)
+ * 같은 토큰으로 반복 요청하면 서명 검증/파싱 없이 바로 userId 반환, 항목은 토큰의 exp까지만 유효
+ * 다른 노드에서 폐기된 토큰도 걸러내도록 적중 시에도 폐기 목록(메모리 filter)은 확인
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final TokenRevocationService tokenRevocationService;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize, TokenRevocationService tokenRevocationService) {
+        this.maxSize = maxSize;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * 캐시된 userId (없거나 만료되었으면 null)
+     */
+    public Long get(String token) {
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis() || tokenRevocationService.isRevoked(entry.jti)) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.userId;
+    }
+
+    public void put(String token, Claims claims) {
+        Long userId = claims.get("userId", Long.class);
+        Date expiration = claims.getExpiration();
+        if (userId == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        entries.put(hash(token), new Entry(userId, claims.getId(), expiration.getTime()));
+    }
+
+    public void evict(String token) {
+        if (token != null && !token.isEmpty()) {
+            entries.remove(hash(token));
+        }
+    }
+
+    public GetTokenCacheStatsRes stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new GetTokenCacheStatsRes(entries.size(), maxSize, hitCount, missCount, evictions.sum(),
+                total == 0 ? 0.0 : (double) hitCount / total);
+    }
+
+    // 만료된 항목을 먼저 지우고, 그래도 가득 차 있으면 임의 순서로 10%를 비움
+    private synchronized void shrink() {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private static class Entry {
+        final Long userId;
+        final String jti;
+        final long expiresAt; // epoch millis
+
+        Entry(Long userId, String jti, long expiresAt) {
+            this.userId = userId;
+            this.jti = jti;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.silverrock.matching.Entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 수락된 친구 관계 (양방향으로 두 행 저장, 매칭 수락 시 생성)
+ * PK (user_id, friend_id) 로 친구 목록/친구 여부/함께 아는 친구 계산이 친구 수에 비례하는 인덱스 범위 조회
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(Friendship.Key.class)
+public class Friendship {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "friend_id")
+    private Long friendId;
+
+    @Column(nullable = false)
+    private Long matchingId; // 친구가 된 매칭
+
+    @Column(nullable = false)
+    private LocalDateTime createDate;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long friendId;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return userId.equals(key.userId) && friendId.equals(key.friendId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + friendId.hashCode();
+        }
+    }
+}
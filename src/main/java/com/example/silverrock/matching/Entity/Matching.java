@@ -7,7 +7,7 @@ import lombok.*;
 
 import javax.persistence.*;
 
-@Entity
+@Entity // 인덱스, 유니크 키(uk_matching_pair)는 db/migration V2, V4, V5에서 생성
 @Builder
 @Getter
 @Setter
@@ -30,6 +30,12 @@ public class Matching extends BaseTimeEntity {
     @Column(nullable = true)
     private boolean success; // 매칭 성공여부 t/f
 
+    @Column(name = "pair_low", insertable = false, updatable = false)
+    private Long pairLow; // min(sender, receiver), DB 생성 컬럼
+
+    @Column(name = "pair_high", insertable = false, updatable = false)
+    private Long pairHigh; // max(sender, receiver), DB 생성 컬럼
+
     @Builder
     public Matching(User sender, User receiver, Boolean success) {
         this.sender = sender;
@@ -0,0 +1,224 @@
+package com.example.silverrock.matching.Service;
+
+import com.example.silverrock.global.BatchLock;
+import com.example.silverrock.global.TransactionHooks;
+import com.example.silverrock.matching.dto.GetMatchingCountsRes;
+import com.example.silverrock.matching.repository.FriendshipRepository;
+import com.example.silverrock.matching.repository.MatchingRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 뱃지 표시용 매칭 카운터 (Redis hash: matching:count:{userId} -> received, friends, seq)
+ * 조회 시 없으면 MySQL에서 세어 채우고, 이후 변경은 커밋 후 HINCRBY로 반영 (키가 있을 때만, seq 증가)
+ * 어긋난 값은 주기적인 재계산 작업(한 노드만)이 MySQL 기준으로 바로잡음, 그 사이 증감이 있었던 키(seq 변경)는 다음 주기로 미룸
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingCounter {
+    private static final String KEY_PREFIX = "matching:count:";
+    private static final String RECEIVED = "received";
+    private static final String FRIENDS = "friends";
+    private static final String SEQ = "seq";
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+    private static final String LOCK_NAME = "matching-counter-reconcile";
+
+    // KEYS: 카운터 키 / ARGV: 필드, 증감값 (키가 없으면 다음 조회 때 MySQL에서 채우므로 무시)
+    private static final byte[] INCREMENT_SCRIPT = ("if redis.call('exists', KEYS[1]) == 1 then " +
+            "redis.call('hincrby', KEYS[1], ARGV[1], ARGV[2]) redis.call('hincrby', KEYS[1], 'seq', 1) end return 0")
+            .getBytes(StandardCharsets.UTF_8);
+
+    // KEYS: 카운터 키 / ARGV: received, friends, TTL(초) -> 키가 없을 때만 생성
+    private static final byte[] FILL_SCRIPT = ("if redis.call('exists', KEYS[1]) == 0 then " +
+            "redis.call('hset', KEYS[1], 'received', ARGV[1], 'friends', ARGV[2], 'seq', 0) " +
+            "redis.call('expire', KEYS[1], ARGV[3]) end return 0").getBytes(StandardCharsets.UTF_8);
+
+    // KEYS: 카운터 키 / ARGV: MySQL 조회 전 seq, received, friends, TTL(초)
+    // 키가 있고 그 사이 증감이 없었을 때만 덮어씀, TTL이 없는 키면 다시 설정
+    private static final byte[] OVERWRITE_SCRIPT = ("if redis.call('exists', KEYS[1]) == 0 then return 0 end " +
+            "if (redis.call('hget', KEYS[1], 'seq') or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('hset', KEYS[1], 'received', ARGV[2], 'friends', ARGV[3]) " +
+            "if redis.call('ttl', KEYS[1]) < 0 then redis.call('expire', KEYS[1], ARGV[4]) end " +
+            "return 1").getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MatchingRequestRepository matchingRequestRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final BatchLock batchLock;
+
+    @Value("${matching.counts.ttl-hours:168}")
+    private long ttlHours;
+
+    @Value("${matching.counts.reconcile-ms:600000}")
+    private long reconcileMillis;
+
+    /**
+     * 유저의 카운터 (Redis 한 번 조회, 없으면 MySQL에서 계산해 저장)
+     */
+    public GetMatchingCountsRes get(Long userId) {
+        String key = KEY_PREFIX + userId;
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(key, Arrays.asList(RECEIVED, FRIENDS));
+            if (values.get(0) != null && values.get(1) != null) {
+                return new GetMatchingCountsRes(Math.max(0L, Long.parseLong((String) values.get(0))),
+                        Math.max(0L, Long.parseLong((String) values.get(1))));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Matching counter read failed for user {}", userId, e);
+            return load(Collections.singletonList(userId)).get(userId);
+        }
+        GetMatchingCountsRes counts = load(Collections.singletonList(userId)).get(userId);
+        try {
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands().eval(FILL_SCRIPT, ReturnType.INTEGER, 1,
+                    bytes(key), bytes(Long.toString(counts.getReceived())), bytes(Long.toString(counts.getFriends())), bytes(ttlSeconds())));
+        } catch (DataAccessException e) {
+            log.warn("Matching counter write failed for user {}", userId, e);
+        }
+        return counts;
+    }
+
+    /**
+     * 커밋 이후 카운터 증감 (여러 유저 변경을 한 번의 pipeline으로)
+     */
+    public void apply(Deltas deltas) {
+        if (deltas.values.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            try {
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    deltas.values.forEach((userId, delta) -> {
+                        increment(connection, userId, RECEIVED, delta[0]);
+                        increment(connection, userId, FRIENDS, delta[1]);
+                    });
+                    return null;
+                });
+            } catch (DataAccessException e) {
+                log.warn("Matching counter update failed, reconciliation will correct it", e); // 다음 재계산 때 보정
+            }
+        });
+    }
+
+    /**
+     * 캐시된 카운터를 MySQL 기준으로 다시 계산 (놓친 증감, 만료 작업 등으로 생긴 차이 보정)
+     */
+    @Scheduled(initialDelayString = "${matching.counts.reconcile-ms:600000}", fixedDelayString = "${matching.counts.reconcile-ms:600000}")
+    public void reconcile() {
+        batchLock.runExclusively(LOCK_NAME, Duration.ofMillis(reconcileMillis), this::reconcileAll);
+    }
+
+    private void reconcileAll() {
+        long started = System.currentTimeMillis();
+        int[] reconciled = {0};
+        try {
+            stringRedisTemplate.execute((RedisCallback<Void>) connection -> {
+                ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+                List<Long> userIds = new ArrayList<>(RECONCILE_CHUNK_SIZE);
+                try (Cursor<byte[]> cursor = connection.scan(options)) {
+                    while (cursor.hasNext()) {
+                        String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                        userIds.add(Long.parseLong(key.substring(KEY_PREFIX.length())));
+                        if (userIds.size() == RECONCILE_CHUNK_SIZE) {
+                            reconciled[0] += overwrite(userIds);
+                            userIds.clear();
+                        }
+                    }
+                }
+                reconciled[0] += overwrite(userIds);
+                return null;
+            });
+            log.info("Matching counters reconciled: {} users in {} ms", reconciled[0], System.currentTimeMillis() - started);
+        } catch (DataAccessException e) {
+            log.warn("Matching counter reconciliation failed", e);
+        }
+    }
+
+    // MySQL에서 센 값으로 덮어씀 (조회 전 seq를 먼저 읽어, 그 사이 증감이 반영된 키는 건너뜀)
+    private int overwrite(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        List<Object> seqs = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            userIds.forEach(userId -> connection.hashCommands().hGet(bytes(KEY_PREFIX + userId), bytes(SEQ)));
+            return null;
+        });
+        Map<Long, GetMatchingCountsRes> counts = load(userIds);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < userIds.size(); i++) {
+                Long userId = userIds.get(i);
+                GetMatchingCountsRes count = counts.get(userId);
+                String seq = (seqs.get(i) == null) ? "0" : seqs.get(i).toString();
+                connection.scriptingCommands().eval(OVERWRITE_SCRIPT, ReturnType.INTEGER, 1, bytes(KEY_PREFIX + userId), bytes(seq),
+                        bytes(Long.toString(count.getReceived())), bytes(Long.toString(count.getFriends())), bytes(ttlSeconds()));
+            }
+            return null;
+        });
+        return (int) results.stream().filter(result -> Long.valueOf(1L).equals(result)).count();
+    }
+
+    // 유저별 대기 중인 받은 요청 수, 친구 수 (쿼리 두 번)
+    private Map<Long, GetMatchingCountsRes> load(Collection<Long> userIds) {
+        Map<Long, Long> received = toCounts(matchingRequestRepository.countPendingReceivedByUserIds(userIds));
+        Map<Long, Long> friends = toCounts(friendshipRepository.countByUserIds(userIds));
+        Map<Long, GetMatchingCountsRes> counts = new HashMap<>();
+        for (Long userId : userIds) {
+            counts.put(userId, new GetMatchingCountsRes(received.getOrDefault(userId, 0L), friends.getOrDefault(userId, 0L)));
+        }
+        return counts;
+    }
+
+    private static Map<Long, Long> toCounts(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private String ttlSeconds() {
+        return Long.toString(Duration.ofHours(ttlHours).getSeconds());
+    }
+
+    private static void increment(RedisConnection connection, Long userId, String field, long delta) {
+        if (delta != 0) {
+            connection.scriptingCommands().eval(INCREMENT_SCRIPT, ReturnType.INTEGER, 1,
+                    bytes(KEY_PREFIX + userId), bytes(field), bytes(Long.toString(delta)));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 유저별 카운터 증감 모음
+     */
+    public static class Deltas {
+        private final Map<Long, long[]> values = new HashMap<>(); // userId -> {received, friends}
+
+        public Deltas received(Long userId, long delta) {
+            values.computeIfAbsent(userId, id -> new long[2])[0] += delta;
+            return this;
+        }
+
+        public Deltas friends(Long userId, long delta) {
+            values.computeIfAbsent(userId, id -> new long[2])[1] += delta;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.silverrock.matching.Service;
+
+import com.example.silverrock.global.TransactionHooks;
+import com.example.silverrock.matching.dto.MatchingEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 매칭 이벤트를 유저의 열린 SSE 연결로 전달
+ * 이벤트는 Redis pub/sub(matching:events)으로 모든 노드에 퍼지고, 각 노드는 자기에게 연결된 유저에게만 전달
+ * 연결은 timeout-ms가 지나면 서버가 닫음, 클라이언트(EventSource)는 재연결 후 목록을 다시 조회(ETag)해 그 사이 놓친 이벤트를 메움
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingEventBroker {
+    private static final String CHANNEL = "matching:events";
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100); // 여러 스레드가 동시에 emit 할 때 재시도 시간
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${matching.events.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    @Value("${matching.events.timeout-ms:1800000}")
+    private long timeoutMillis; // MVC 비동기 요청 기본 타임아웃 대신 이 연결에 적용
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>(); // userId -> 이 노드에 열린 연결들
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                Envelope envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+                deliver(envelope.getTargetId(), envelope.getEvent());
+            } catch (IOException e) {
+                log.warn("Malformed matching event dropped", e);
+            }
+        }, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 유저의 이벤트 스트림을 SSE 연결로 열기 (여러 기기에서 동시에 열 수 있음)
+     * 타임아웃이나 전송 실패로 연결이 끝나면 구독을 해제해 연결 수를 되돌림
+     */
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Disposable subscription = stream(userId).subscribe(event -> {
+            try {
+                emitter.send(event);
+            } catch (IOException e) {
+                emitter.completeWithError(e); // 클라이언트가 이미 끊은 경우
+            }
+        }, emitter::completeWithError, emitter::complete);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+        return emitter;
+    }
+
+    /**
+     * 프록시가 유휴 연결을 끊지 않도록 주기적으로 heartbeat 주석을 보냄
+     * 연결 수는 구독 시점에 올리고 구독이 끝날 때 내림
+     */
+    Flux<SseEmitter.SseEventBuilder> stream(Long userId) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(userId, (id, existing) -> {
+                Channel opened = existing != null ? existing : new Channel();
+                opened.connections++;
+                return opened;
+            });
+            Flux<SseEmitter.SseEventBuilder> events = channel.sink.asFlux()
+                    .map(event -> SseEmitter.event().name(event.getType().name()).data(event, MediaType.APPLICATION_JSON));
+            Flux<SseEmitter.SseEventBuilder> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                    .map(tick -> SseEmitter.event().comment("heartbeat"));
+            return Flux.merge(events, heartbeats)
+                    .doFinally(signal -> close(userId));
+        });
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 대상 유저에게 이벤트 발행 (롤백된 변경은 알리지 않음)
+     */
+    public void publish(Long targetId, MatchingEvent event) {
+        TransactionHooks.afterCommit(() -> {
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(new Envelope(targetId, event)));
+            } catch (DataAccessException | JsonProcessingException e) {
+                log.warn("Matching event publish failed for user {}, delivering locally", targetId, e);
+                deliver(targetId, event); // Redis 장애 시에도 이 노드에 연결된 유저에게는 전달
+            }
+        });
+    }
+
+    private void deliver(Long targetId, MatchingEvent event) {
+        Channel channel = channels.get(targetId);
+        if (channel != null) {
+            channel.sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT)); // 구독자가 없으면 버림
+        }
+    }
+
+    private void close(Long userId) {
+        channels.computeIfPresent(userId, (id, channel) -> {
+            if (--channel.connections > 0) {
+                return channel;
+            }
+            channel.sink.tryEmitComplete();
+            return null; // 마지막 연결이 닫히면 제거
+        });
+    }
+
+    // 연결 수는 channels.compute 안에서만 변경
+    private static class Channel {
+        private final Sinks.Many<MatchingEvent> sink = Sinks.many().multicast().directBestEffort();
+        private int connections;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Envelope {
+        private Long targetId; // 이벤트를 받을 유저의 고유 id
+        private MatchingEvent event;
+    }
+}
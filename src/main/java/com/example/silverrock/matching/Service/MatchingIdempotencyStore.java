@@ -0,0 +1,56 @@
+package com.example.silverrock.matching.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 매칭 요청 Idempotency-Key 기록 (Redis matching:idem:{senderId}:{key} -> receiverId:matchingId)
+ * 같은 키로 재시도하면 처음 만든 매칭 id를 그대로 돌려주기 위함
+ * Redis 장애 시에는 기록 없이 진행 (중복 생성은 uk_matching_pair가 막음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingIdempotencyStore {
+    private static final String KEY_PREFIX = "matching:idem:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${matching.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    /**
+     * 기록된 요청이 있으면 [receiverId, matchingId], 없으면 null
+     */
+    public long[] find(Long senderId, String key) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(redisKey(senderId, key));
+            if (value == null) {
+                return null;
+            }
+            int separator = value.indexOf(':');
+            return new long[]{Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1))};
+        } catch (DataAccessException e) {
+            log.warn("Idempotency key lookup failed for user {}", senderId, e);
+            return null;
+        }
+    }
+
+    public void save(Long senderId, String key, Long receiverId, Long matchingId) {
+        try {
+            stringRedisTemplate.opsForValue().setIfAbsent(redisKey(senderId, key), receiverId + ":" + matchingId, Duration.ofHours(ttlHours));
+        } catch (DataAccessException e) {
+            log.warn("Idempotency key save failed for user {}", senderId, e);
+        }
+    }
+
+    private static String redisKey(Long senderId, String key) {
+        return KEY_PREFIX + senderId + ":" + key;
+    }
+}
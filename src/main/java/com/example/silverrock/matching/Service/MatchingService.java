@@ -1,9 +1,14 @@
 package com.example.silverrock.matching.Service;
 
 import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.global.Response.BaseResponseStatus;
+import com.example.silverrock.global.ResourceVersion;
 import com.example.silverrock.login.jwt.JwtService;
 import com.example.silverrock.matching.Entity.Matching;
+import com.example.silverrock.matching.dto.MatchingEvent;
 import com.example.silverrock.matching.dto.PostMatcingReq;
+import com.example.silverrock.matching.dto.PostMatchingBatchRes;
+import com.example.silverrock.matching.repository.FriendshipRepository;
 import com.example.silverrock.matching.repository.MatchingRequestRepository;
 import com.example.silverrock.user.User;
 import com.example.silverrock.user.UserRepository;
@@ -12,13 +17,20 @@ import com.example.silverrock.user.profile.Profile;
 import com.example.silverrock.user.profile.ProfileRepository;
 import com.example.silverrock.user.profile.ProfileService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 import static com.example.silverrock.global.Response.BaseResponseStatus.*;
 
 @RequiredArgsConstructor
@@ -29,42 +41,78 @@ public class MatchingService {
     private final ProfileService profileService;
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final MatchingEventBroker matchingEventBroker;
+    private final MatchingIdempotencyStore matchingIdempotencyStore;
+    private final MatchingCounter matchingCounter;
 
-    public Long matchingRequest(Long receiverId) {
-        Long senderId = jwtService.getUserIdx(); // 토큰에서 유저 고유번호 (sender) 받아오기
-        User sender = userRepository.findUserById(senderId).orElse(null); // sender 정보(고유아이디, 폰넘버, 성별 등..) 가져오기
-        User receiver = userRepository.findUserById(receiverId).orElse(null); // receiver 정보 가져오기
+    private static final int STREAM_CHUNK_SIZE = 100; // 스트리밍 조회 시 한 번에 읽어오는 수
+    private static final int RECEIVED_PAGE_MAX_SIZE = 100; // 받은 매칭 요청 조회 시 한 페이지 최대 크기
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64; // Idempotency-Key 최대 길이
+    private static final int BATCH_MAX_SIZE = 100; // 일괄 수락/거절 시 한 번에 처리할 최대 매칭 수
 
-        if (sender == null || receiver == null) {// 유효한 유저 정보가 없는 경우 예외 처리
-            throw new BaseException(USER_NOT_FOUND);
-        }
-        //기존 매칭 데이터 중 receiver와 sender가 새 매칭 데이터와 같으면서, success==false인 데이터가 이미 존재하면 예외처리.(동일한 매칭요청 불가능)
-        List<Matching> existingMatchings = matchingRequestRepository.findBySenderAndReceiverAndSuccess(sender, receiver, false);
-        if (!existingMatchings.isEmpty()) { //존재하는 매칭 데이터가 비어있지 않다면!
-            throw new BaseException(DUPLICATE_MATCHING_REQUEST);
+    /**
+     * 매칭 요청 생성 (insert 한 번, 같은 두 유저 사이의 중복은 uk_matching_pair가 막음)
+     * idempotencyKey가 있으면 같은 키로 재시도할 때 처음 만든 매칭 id를 반환
+     */
+    public Long matchingRequest(Long receiverId, String idempotencyKey) {
+        Long senderId = jwtService.getUserIdx(); // 토큰에서 유저 고유번호 (sender) 받아오기
+        if (senderId.equals(receiverId)) { // 자기 자신에게는 요청 불가
+            throw new BaseException(REQUEST_ERROR);
         }
-        //비어있으면 아래 매칭id 생성 실행
-        Matching matching = new Matching(
-                sender, receiver, false // sender, receiver, 성공 여부 데이터 설정
-        );
-
-        //내가 요청 보낼 상대가 나에게 보낸 매칭이 있거나 이미 친구인지 확인 (success는 따지지않고 )
-        List<Matching> alreadyReceived = matchingRequestRepository.findBySenderAndReceiver(receiver, sender);
-        if(!alreadyReceived.isEmpty()){
-            for(Matching m : alreadyReceived){
-                if(m.isSuccess() == true){
-                    throw new BaseException(ALREADY_FRIEND_REQUEST);
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isEmpty() || idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+                throw new BaseException(REQUEST_ERROR);
+            }
+            long[] previous = matchingIdempotencyStore.find(senderId, idempotencyKey);
+            if (previous != null) { // 이미 처리된 요청의 재시도
+                if (previous[0] != receiverId) {
+                    throw new BaseException(IDEMPOTENCY_KEY_REUSED);
                 }
+                return previous[1];
             }
-            throw new BaseException(ALREADY_RECEIVED_REQUEST);
         }
 
-        matchingRequestRepository.save(matching); // 매칭 정보 저장
+        // 유저 조회 없이 참조만 만들어 바로 insert (없는 receiver는 FK 위반으로 실패)
+        Matching matching = new Matching(
+                userRepository.getReferenceById(senderId), userRepository.getReferenceById(receiverId), false // sender, receiver, 성공 여부 데이터 설정
+        );
+        try {
+            matchingRequestRepository.save(matching); // 매칭 정보 저장
+        } catch (DataIntegrityViolationException e) {
+            Long existingId = resolveConflict(senderId, receiverId, idempotencyKey != null);
+            matchingIdempotencyStore.save(senderId, idempotencyKey, receiverId, existingId);
+            return existingId;
+        }
+        if (idempotencyKey != null) {
+            matchingIdempotencyStore.save(senderId, idempotencyKey, receiverId, matching.getMatchingId());
+        }
+        matchingCounter.apply(new MatchingCounter.Deltas().received(receiverId, 1));
+        matchingEventBroker.publish(receiverId, new MatchingEvent(MatchingEvent.Type.REQUESTED, matching.getMatchingId(), senderId)); // 받은 사람에게 알림
 
         return matching.getMatchingId(); // 생성된 매칭 아이디 반환
     }
 
+    // insert가 제약 조건에 걸린 경우 이미 있는 매칭으로 원인 판단
+    // 내가 보낸 대기 중인 요청이고 재시도(idempotencyKey 있음)라면 그 매칭 id를 반환
+    private Long resolveConflict(Long senderId, Long receiverId, boolean retry) {
+        Matching existing = matchingRequestRepository
+                .findByPairLowAndPairHigh(Math.min(senderId, receiverId), Math.max(senderId, receiverId))
+                .orElseThrow(() -> new BaseException(USER_NOT_FOUND)); // 쌍이 없으면 receiver가 없는 유저 (FK 위반)
+        if (existing.isSuccess()) { //이미 친구인 경우
+            throw new BaseException(ALREADY_FRIEND_REQUEST);
+        }
+        if (!senderId.equals(existing.getSender().getId())) { //상대가 나에게 보낸 대기 중인 요청이 있는 경우
+            throw new BaseException(ALREADY_RECEIVED_REQUEST);
+        }
+        if (!retry) { //동일한 매칭요청 불가능
+            throw new BaseException(DUPLICATE_MATCHING_REQUEST);
+        }
+        return existing.getMatchingId();
+    }
+
     // 매칭 수락 -> receiver 입장
+    @Transactional
     public void acceptMatching(Long matchingId) throws BaseException{
         Optional<Matching> existingMatching = matchingRequestRepository.findById(matchingId); //Optional객체: 해당 매칭 아이디가 있을 경우에만 처리
 
@@ -72,10 +120,15 @@ public class MatchingService {
             Matching matching = existingMatching.get(); //존재하는(입력받은) 매칭아이디에 해당하는 정보를 matching변수에 저장.
             Long receiverId = jwtService.getUserIdx(); // 토큰에서 유저 고유번호 (receiver) 받아오기
             Long matchingReceiverId= matching.getReceiver().getId(); //현재 매칭아이디의 리시버의 아이디를 가져와
-            Boolean successWhat=matching.isSuccess(); //석세스 정보 가져오기
-            if(receiverId==matchingReceiverId&&successWhat==false){ //매칭의 리시버의 아이디와, 유저의 아이디가 같은지 확인 & success가 false인지 확인
+            if(receiverId.equals(matchingReceiverId) && !matching.isSuccess()){ //매칭의 리시버의 아이디와, 유저의 아이디가 같은지 확인 & success가 false인지 확인
                 matching.setSuccess(true); //matching변수에 속한 success정보를 true로 세팅
                 matchingRequestRepository.save(matching); //변경 내용 저장
+                Long senderId = matching.getSender().getId();
+                friendshipRepository.insertPair(senderId, receiverId, matchingId); //친구 관계 (양방향) 저장
+                matchingCounter.apply(new MatchingCounter.Deltas().received(receiverId, -1).friends(receiverId, 1).friends(senderId, 1));
+                // 양쪽 모두 친구 목록이 바뀌므로 둘 다 알림 (receiver는 다른 기기의 받은 요청 목록 갱신)
+                matchingEventBroker.publish(senderId, new MatchingEvent(MatchingEvent.Type.ACCEPTED, matchingId, receiverId));
+                matchingEventBroker.publish(receiverId, new MatchingEvent(MatchingEvent.Type.ACCEPTED, matchingId, senderId));
             }        else {
                 throw new BaseException(MATCHING_NOT_FOUND);//유저id와 receiverId가 일치하지 않은 경우의 예외
             }
@@ -92,9 +145,11 @@ public class MatchingService {
             Matching matching = existingMatching.get(); //존재하는(입력받은) 매칭아이디에 해당하는 정보를 matching변수에 저장.
             Long receiverId = jwtService.getUserIdx(); // 토큰에서 유저 고유번호 (receiver) 받아오기
             Long matchingReceiverId= matching.getReceiver().getId(); //현재 매칭아이디의 리시버의 아이디를 가져와
-            Boolean successWhat=matching.isSuccess(); //석세스 정보 가져오기
-            if(receiverId==matchingReceiverId&&successWhat==false){ //매칭의 리시버의 아이디와, 유저의 아이디가 같은지 확인 & success가 false인지 확인
+            if(receiverId.equals(matchingReceiverId) && !matching.isSuccess()){ //매칭의 리시버의 아이디와, 유저의 아이디가 같은지 확인 & success가 false인지 확인
                 matchingRequestRepository.deleteById(matchingId); //해당 매칭아이디를 지우기
+                matchingCounter.apply(new MatchingCounter.Deltas().received(receiverId, -1));
+                // 거절 사실은 보낸 사람에게 알리지 않고, receiver의 다른 기기 목록만 갱신
+                matchingEventBroker.publish(receiverId, new MatchingEvent(MatchingEvent.Type.REJECTED, matchingId, matching.getSender().getId()));
             }        else {
                 throw new BaseException(MATCHING_NOT_FOUND);//유저id와 receiverId가 일치하지 않은 경우의 예외
             }
@@ -104,64 +159,136 @@ public class MatchingService {
 
     }
 
-    //내가 받은 매칭 요청 조회
-    public List<ReceivedMatchingRes> getReceivedMatchings(Long userId) throws BaseException {
-        User me = userRepository.findUserById(userId).orElse(null);   //id로 user객체 가져와
-        List<Matching> receivedmatchings = matchingRequestRepository.findMatchingByReceiver(me).get();  // receiver가 '나'인 매칭 조회
-        List<Matching> toshowmatchings = new ArrayList<>();
+    // 매칭 일괄 수락 -> receiver 입장 (소유 확인 한 번, 수락/친구 저장은 각각 한 문장)
+    @Transactional
+    public PostMatchingBatchRes acceptMatchings(List<Long> matchingIds) throws BaseException {
+        Long receiverId = jwtService.getUserIdx(); // 토큰에서 유저 고유번호 (receiver) 받아오기
+        Set<Long> ids = validateBatch(matchingIds);
+        Map<Long, Long> senders = lockPendingReceived(ids, receiverId); // matchingId -> senderId
 
-        for(Matching matching : receivedmatchings){     //receiver가 '나'인 매칭 중
-            if(matching.isSuccess() == false) {     //success가 false이면
-                toshowmatchings.add(matching);
-            }
+        if (!senders.isEmpty()) {
+            matchingRequestRepository.acceptPendingReceivedIn(senders.keySet(), receiverId, LocalDateTime.now());
+            friendshipRepository.insertPairsOf(senders.keySet()); //친구 관계 (양방향) 저장
+            MatchingCounter.Deltas deltas = new MatchingCounter.Deltas().received(receiverId, -senders.size()).friends(receiverId, senders.size());
+            senders.values().forEach(senderId -> deltas.friends(senderId, 1));
+            matchingCounter.apply(deltas);
+            senders.forEach((matchingId, senderId) -> {
+                matchingEventBroker.publish(senderId, new MatchingEvent(MatchingEvent.Type.ACCEPTED, matchingId, receiverId));
+                matchingEventBroker.publish(receiverId, new MatchingEvent(MatchingEvent.Type.ACCEPTED, matchingId, senderId));
+            });
         }
+        return toBatchRes(matchingIds, senders.keySet());
+    }
+
+    // 매칭 일괄 거절 -> receiver 입장 (소유 확인 한 번, 삭제는 한 문장)
+    @Transactional
+    public PostMatchingBatchRes rejectMatchings(List<Long> matchingIds) throws BaseException {
+        Long receiverId = jwtService.getUserIdx(); // 토큰에서 유저 고유번호 (receiver) 받아오기
+        Set<Long> ids = validateBatch(matchingIds);
+        Map<Long, Long> senders = lockPendingReceived(ids, receiverId); // matchingId -> senderId
 
-        if(toshowmatchings.isEmpty()){
+        if (!senders.isEmpty()) {
+            matchingRequestRepository.deletePendingReceivedIn(senders.keySet(), receiverId);
+            matchingCounter.apply(new MatchingCounter.Deltas().received(receiverId, -senders.size()));
+            senders.forEach((matchingId, senderId) ->
+                    matchingEventBroker.publish(receiverId, new MatchingEvent(MatchingEvent.Type.REJECTED, matchingId, senderId)));
+        }
+        return toBatchRes(matchingIds, senders.keySet());
+    }
+
+    // 비어 있거나 너무 많은 요청은 거절, 중복 id는 한 번만 처리
+    private Set<Long> validateBatch(List<Long> matchingIds) {
+        if (matchingIds == null || matchingIds.isEmpty() || matchingIds.size() > BATCH_MAX_SIZE || matchingIds.contains(null)) {
+            throw new BaseException(REQUEST_ERROR);
+        }
+        return new LinkedHashSet<>(matchingIds);
+    }
+
+    // ids 중 내가 받은 대기 중인 매칭만 잠그고 sender 반환 (다른 요청이 그 사이 수락/거절하지 못하도록)
+    private Map<Long, Long> lockPendingReceived(Set<Long> ids, Long receiverId) {
+        Map<Long, Long> senders = new LinkedHashMap<>();
+        for (Object[] row : matchingRequestRepository.lockPendingReceivedIn(ids, receiverId)) {
+            senders.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return senders;
+    }
+
+    // 요청한 순서대로 매칭별 결과 (내가 받은 대기 중인 매칭이 아니면 MATCHING_NOT_FOUND)
+    private static PostMatchingBatchRes toBatchRes(List<Long> matchingIds, Set<Long> processed) {
+        List<PostMatchingBatchRes.Result> results = new ArrayList<>(matchingIds.size());
+        for (Long matchingId : matchingIds) {
+            BaseResponseStatus status = processed.contains(matchingId) ? SUCCESS : MATCHING_NOT_FOUND;
+            results.add(new PostMatchingBatchRes.Result(matchingId, status.isSuccess(), status.getCode(), status.getMessage()));
+        }
+        return new PostMatchingBatchRes(processed.size(), results);
+    }
+
+    //내가 받은 매칭 요청 조회 (대기 중인 요청만 matchingId 순으로 cursor 다음부터 한 페이지)
+    @Transactional(readOnly = true)
+    public GetReceivedMatchingPageRes getReceivedMatchings(Long userId, Long cursor, int size) throws BaseException {
+        int pageSize = Math.min(Math.max(size, 1), RECEIVED_PAGE_MAX_SIZE);
+        long after = (cursor == null) ? 0L : cursor;
+
+        // receiver가 '나'이고 success가 false인 매칭의 sender 카드를 프로필과 함께 한 번에 조회 (다음 페이지 확인용으로 한 건 더)
+        List<UserCard> senders = matchingRequestRepository.findSenderCardsByReceiverAfter(userId, false, after, PageRequest.of(0, pageSize + 1));
+
+        if(senders.isEmpty() && cursor == null){
             throw new BaseException(NONE_RECEIVED);
         }
 
-        List<ReceivedMatchingRes> receivedUserRes = toshowmatchings.stream()
-                .map(matching -> new ReceivedMatchingRes(
-                        matching.getMatchingId(), matching.getSender().getGender(), matching.getSender().getNickname(),
-                        matching.getSender().getBirth(), matching.getSender().getRegion(), matching.getSender().getIntroduce(),
-                new GetS3Res(matching.getSender().getProfile().getProfileUrl(), matching.getSender().getProfile().getProfileFileName())
-                )).collect(Collectors.toList());
+        boolean hasNext = senders.size() > pageSize;
+        List<UserCard> page = hasNext ? senders.subList(0, pageSize) : senders;
+
         //매칭의 고유 id와 sender의 정보 반환
+        List<ReceivedMatchingRes> matchings = page.stream().map(UserCard::toReceivedMatchingRes).collect(Collectors.toList());
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getMatchingId() : null;
+        return new GetReceivedMatchingPageRes(matchings, nextCursor);
+    }
 
-        return receivedUserRes;    //sender 목록 반환
+    //내가 받은 매칭 요청 버전 (조회할 페이지 범위의 행만 읽음, 받은 요청 전체를 세지 않음)
+    @Transactional(readOnly = true)
+    public ResourceVersion getReceivedMatchingsVersion(Long userId, Long cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), RECEIVED_PAGE_MAX_SIZE);
+        long after = (cursor == null) ? 0L : cursor;
+
+        List<Object> parts = new ArrayList<>(Arrays.asList("received", userId, cursor, size));
+        // 다음 페이지 커서가 바뀌는 것도 반영되도록 카드 조회와 같이 한 건 더
+        for (Object[] row : matchingRequestRepository.findReceivedVersionsAfter(userId, false, after, PageRequest.of(0, pageSize + 1))) {
+            parts.addAll(Arrays.asList(row));
+        }
+        return ResourceVersion.etag(parts.toArray());
     }
 
     //매칭된 친구 조회
+    @Transactional(readOnly = true)
     public List<GetUserRes> getMatchedFriends(Long userId) throws BaseException {
-        User me = userRepository.findUserById(userId).orElse(null);   //id로 user객체 가져와
-        List<Matching> receivedmatchings = matchingRequestRepository.findMatchingByReceiver(me).get();  // receiver가 '나'인 매칭 조회
-        List<Matching> sentmatchings = matchingRequestRepository.findMatchingBySender(me).get();    //sender가 '나'인 매칭 조회
-        User sender, receiver;
-        List<User> friends = new ArrayList<>();
-
-        for(Matching matching : receivedmatchings){     //receiver가 나 인 매칭 중
-            if(matching.isSuccess() == true){           //매칭의 success가 true이면
-                sender = matching.getSender();          //매칭의 sender를 친구 목록에 추가
-                friends.add(sender);
-            }
-        }
-        for(Matching matching : sentmatchings){     //sender가 나 인 매칭 중
-            if(matching.isSuccess() == true){       //매칭의 success가 true이면
-                receiver = matching.getReceiver();  //매칭의 receiver를 친구 목록에 추가
-                friends.add(receiver);
-            }
-        }
+        // 친구 관계 테이블에서 내 친구만 조회 (요청 이력 전체를 읽지 않음)
+        List<UserCard> friends = friendshipRepository.findFriendCardsAfter(userId, 0L, Pageable.unpaged());
 
         if(friends.isEmpty()){
             throw new BaseException(NONE_FREIND);
         }
 
-        List<GetUserRes> friendResList = friends.stream()
-                .map(user -> new GetUserRes(user.getPhoneNum(), user.getGender(), user.getNickname(), user.getBirth(), user.getRegion(), user.getIntroduce(),
-                        new GetS3Res(user.getProfile().getProfileUrl(), user.getProfile().getProfileFileName()))).collect(Collectors.toList());
         //매칭된 친구를 보여줄떄는 전화번호도 함께 반환
+        return friends.stream().map(UserCard::toGetUserRes).collect(Collectors.toList());    //친구 목록 반환
+    }
+
+    //매칭된 친구 버전 (친구 수, 최종 수정 시각)
+    @Transactional(readOnly = true)
+    public ResourceVersion getMatchedFriendsVersion(Long userId) {
+        Object[] friends = friendshipRepository.findVersion(userId).get(0);
+        return ResourceVersion.etag("friend", userId, friends[0], friends[1], friends[2], friends[3]);
+    }
 
-        return friendResList;    //친구 목록 반환
+    //매칭된 친구 스트리밍 조회 (친구 id 순, 구독자가 요청하는 만큼만 청크 단위로 조회)
+    public Flux<GetUserRes> streamMatchedFriends(Long userId) {
+        return Mono.fromCallable(() -> friendshipRepository.findFriendCardsAfter(userId, 0L, PageRequest.of(0, STREAM_CHUNK_SIZE)))
+                .expand(chunk -> chunk.size() < STREAM_CHUNK_SIZE
+                        ? Mono.empty()
+                        : Mono.fromCallable(() -> friendshipRepository.findFriendCardsAfter(userId, chunk.get(chunk.size() - 1).getId(), PageRequest.of(0, STREAM_CHUNK_SIZE))))
+                .concatMapIterable(chunk -> chunk, 1)
+                .map(UserCard::toGetUserRes)
+                .subscribeOn(Schedulers.boundedElastic());
     }
 
 }
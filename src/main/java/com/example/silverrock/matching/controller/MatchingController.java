@@ -4,15 +4,25 @@ import com.example.silverrock.global.Response.BaseException;
 import com.example.silverrock.global.Response.BaseResponse;
 import com.example.silverrock.global.Response.BaseResponseStatus;
 import com.example.silverrock.login.jwt.JwtService;
+import com.example.silverrock.matching.Service.MatchingCounter;
+import com.example.silverrock.matching.Service.MatchingEventBroker;
 import com.example.silverrock.matching.Service.MatchingService;
+import com.example.silverrock.matching.dto.GetMatchingCountsRes;
+import com.example.silverrock.matching.dto.PostMatchingBatchReq;
+import com.example.silverrock.matching.dto.PostMatchingBatchRes;
 import com.example.silverrock.matching.dto.PostMatcingReq;
 import com.example.silverrock.matching.repository.MatchingRequestRepository;
 import com.example.silverrock.user.dto.GetNearUserRes;
 import com.example.silverrock.user.dto.GetUserRes;
-import com.example.silverrock.user.dto.ReceivedMatchingRes;
+import com.example.silverrock.user.dto.GetReceivedMatchingPageRes;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
@@ -26,11 +36,14 @@ public class MatchingController {
     @Autowired
     private final MatchingService matchingService;
     private final JwtService jwtService;
+    private final MatchingEventBroker matchingEventBroker;
+    private final MatchingCounter matchingCounter;
 
-    //매칭 요청
+    //매칭 요청 (Idempotency-Key가 같은 재시도는 처음 만든 매칭 id 반환)
     @PostMapping("/{receiver}")
-    public BaseResponse matchingRequest(@PathVariable("receiver") Long receiver) {
-        Long matchingId = matchingService.matchingRequest(receiver);
+    public BaseResponse matchingRequest(@PathVariable("receiver") Long receiver,
+                                        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        Long matchingId = matchingService.matchingRequest(receiver, idempotencyKey);
         return new BaseResponse<>(matchingId);
     }
 
@@ -53,27 +66,82 @@ public class MatchingController {
     }
 
 
-    //내가 받은 매칭 요청 조회(요청자의 프로필 전체 조회)
+    //매칭 일괄 수락 (매칭별 결과 반환)
+    @PostMapping("/accept")
+    public BaseResponse<PostMatchingBatchRes> acceptMatchings(@RequestBody PostMatchingBatchReq postMatchingBatchReq) {
+        try {
+            return new BaseResponse<>(matchingService.acceptMatchings(postMatchingBatchReq.getMatchingIds()));
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+
+    //매칭 일괄 거절 (매칭별 결과 반환)
+    @PostMapping("/reject")
+    public BaseResponse<PostMatchingBatchRes> rejectMatchings(@RequestBody PostMatchingBatchReq postMatchingBatchReq) {
+        try {
+            return new BaseResponse<>(matchingService.rejectMatchings(postMatchingBatchReq.getMatchingIds()));
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+
+
+    //내가 받은 매칭 요청 조회(요청자 프로필 포함, cursor 기반 페이징, 변경이 없으면 304)
     @GetMapping("")
-    public BaseResponse<List<ReceivedMatchingRes>> getReceivedMatchings() {
+    public BaseResponse<GetReceivedMatchingPageRes> getReceivedMatchings(@RequestParam(name = "cursor", required = false) Long cursor,
+                                                                        @RequestParam(name = "size", defaultValue = "20") int size,
+                                                                        WebRequest webRequest) {
         try {
             Long userId = jwtService.getUserIdx();
-            List<ReceivedMatchingRes> receivedMatchings = matchingService.getReceivedMatchings(userId);
+            if (matchingService.getReceivedMatchingsVersion(userId, cursor, size).checkNotModified(webRequest)) {
+                return null; // 304 Not Modified
+            }
+            GetReceivedMatchingPageRes receivedMatchings = matchingService.getReceivedMatchings(userId, cursor, size);
             return new BaseResponse<>(receivedMatchings);
         } catch (BaseException exception) {
             return new BaseResponse<>(exception.getStatus());
         }
     }
 
-    //매칭된 친구 프로필 조회
+    //매칭된 친구 프로필 조회 (변경이 없으면 304)
     @GetMapping("/friend")
-    public BaseResponse<List<GetUserRes>> getMyFriends () {
+    public BaseResponse<List<GetUserRes>> getMyFriends (WebRequest webRequest) {
         try {
             Long userId = jwtService.getUserIdx();
+            if (matchingService.getMatchedFriendsVersion(userId).checkNotModified(webRequest)) {
+                return null; // 304 Not Modified
+            }
             List<GetUserRes> friends = matchingService.getMatchedFriends(userId);
             return new BaseResponse<>(friends);
         } catch (BaseException exception) {
             return new BaseResponse<>(exception.getStatus());
         }
     }
+
+    //매칭된 친구 프로필 스트리밍 조회 (NDJSON 또는 SSE)
+    @GetMapping(value = "/friend/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<GetUserRes> streamMyFriends() {
+        Long userId = jwtService.getUserIdx();
+        return matchingService.streamMatchedFriends(userId);
+    }
+
+    //받은 요청 수, 친구 수 조회 (뱃지 표시용, 목록을 내려받지 않음)
+    @GetMapping("/counts")
+    public BaseResponse<GetMatchingCountsRes> getMatchingCounts() {
+        try {
+            Long userId = jwtService.getUserIdx();
+            return new BaseResponse<>(matchingCounter.get(userId));
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+
+    //매칭 이벤트 구독 (새 요청, 수락, 거절을 SSE로 받아 폴링 없이 목록 갱신)
+    //연결은 matching.events.timeout-ms 후 닫히므로 클라이언트는 재연결하고 목록을 다시 조회
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeMatchingEvents() {
+        Long userId = jwtService.getUserIdx();
+        return matchingEventBroker.open(userId);
+    }
 }
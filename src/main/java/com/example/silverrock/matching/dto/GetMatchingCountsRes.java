@@ -0,0 +1,13 @@
+package com.example.silverrock.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetMatchingCountsRes {
+    private long received; // 대기 중인 받은 매칭 요청 수
+    private long friends; // 매칭된 친구 수
+}
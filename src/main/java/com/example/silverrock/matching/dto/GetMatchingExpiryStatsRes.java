@@ -0,0 +1,22 @@
+package com.example.silverrock.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetMatchingExpiryStatsRes {
+    private LocalDateTime cutoff; // 현재(또는 마지막) 실행의 만료 기준 시각
+    private long lastMatchingId; // 마지막으로 처리한 매칭 id
+    private long processed; // 현재(또는 마지막) 실행에서 보관한 행 수 (모든 노드 합계)
+    private LocalDateTime startedDate;
+    private LocalDateTime finishedDate; // 진행 중이면 null
+    private long runs; // 이 노드가 기동 후 실행한 횟수
+    private long archivedTotal; // 이 노드가 기동 후 보관한 행 수
+    private long lastRunArchived; // 이 노드의 마지막 실행에서 보관한 행 수
+    private long lastRunMillis; // 이 노드의 마지막 실행 소요 시간
+}
@@ -0,0 +1,23 @@
+package com.example.silverrock.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 매칭 상태 변경 알림 (SSE로 전달, 클라이언트는 받은 뒤 목록을 다시 조회)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchingEvent {
+    private Type type; // 이벤트 종류
+    private Long matchingId; // 변경된 매칭의 고유 id
+    private Long userId; // 상대방 유저의 고유 id
+
+    public enum Type {
+        REQUESTED, // 새 매칭 요청을 받음
+        ACCEPTED, // 매칭이 수락되어 친구가 됨
+        REJECTED // 받은 매칭 요청이 거절(삭제)됨
+    }
+}
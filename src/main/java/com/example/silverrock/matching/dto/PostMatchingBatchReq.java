@@ -0,0 +1,14 @@
+package com.example.silverrock.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class PostMatchingBatchReq {
+    private List<Long> matchingIds; // 한 번에 수락/거절할 매칭 고유번호 (최대 100개)
+}
@@ -0,0 +1,27 @@
+package com.example.silverrock.matching.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostMatchingBatchRes {
+    private int processed; // 처리에 성공한 매칭 수
+    private List<Result> results; // 요청한 순서대로 매칭별 결과
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private Long matchingId;
+        @JsonProperty("isSuccess")
+        private boolean isSuccess;
+        private int code;
+        private String message;
+    }
+}
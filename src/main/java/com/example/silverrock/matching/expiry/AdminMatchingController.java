@@ -0,0 +1,30 @@
+package com.example.silverrock.matching.expiry;
+
+import com.example.silverrock.global.AdminKeyValidator;
+import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.global.Response.BaseResponse;
+import com.example.silverrock.matching.dto.GetMatchingExpiryStatsRes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/matching")
+public class AdminMatchingController {
+
+    private final MatchingExpiryJob matchingExpiryJob;
+    private final AdminKeyValidator adminKeyValidator;
+
+    /**
+     * 대기 중 매칭 만료 작업 진행 상황, 처리량 조회
+     */
+    @GetMapping("/expiry")
+    public BaseResponse<GetMatchingExpiryStatsRes> getExpiryStats(@RequestHeader(value = "X-Admin-Key", required = false) String adminKey) {
+        try {
+            adminKeyValidator.validate(adminKey);
+            return new BaseResponse<>(matchingExpiryJob.stats());
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.silverrock.matching.expiry;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 대기 중 매칭 만료 작업의 진행 상황 (행 하나, 청크마다 갱신)
+ * finishedDate가 없으면 진행 중인 실행이 있으므로 같은 cutoff, lastMatchingId부터 이어서 처리
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class MatchingExpiryCheckpoint {
+    @Id
+    @Column(length = 50)
+    private String jobName;
+
+    private LocalDateTime cutoff; // 이 시각 이전에 만든 대기 중 요청을 만료
+
+    @Column(nullable = false)
+    private long lastMatchingId; // 마지막으로 처리한 매칭 id (다음 청크는 그 다음부터)
+
+    @Column(nullable = false)
+    private long processed; // 현재(또는 마지막) 실행에서 보관한 행 수
+
+    private LocalDateTime startedDate;
+
+    private LocalDateTime finishedDate;
+
+    public MatchingExpiryCheckpoint(String jobName) {
+        this.jobName = jobName;
+        this.finishedDate = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return finishedDate != null;
+    }
+
+    // 새 실행 시작
+    public void start(LocalDateTime cutoff) {
+        this.cutoff = cutoff;
+        this.lastMatchingId = 0L;
+        this.processed = 0L;
+        this.startedDate = LocalDateTime.now();
+        this.finishedDate = null;
+    }
+
+    public void advance(long lastMatchingId, int archived, boolean done) {
+        this.lastMatchingId = Math.max(this.lastMatchingId, lastMatchingId);
+        this.processed += archived;
+        if (done) {
+            this.finishedDate = LocalDateTime.now();
+        }
+    }
+}
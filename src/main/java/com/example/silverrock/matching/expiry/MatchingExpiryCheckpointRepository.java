@@ -0,0 +1,19 @@
+package com.example.silverrock.matching.expiry;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface MatchingExpiryCheckpointRepository extends JpaRepository<MatchingExpiryCheckpoint, String> {
+
+    // 청크 처리 동안 잠금 (여러 노드가 동시에 실행해도 청크 단위로 번갈아 처리)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from MatchingExpiryCheckpoint c where c.jobName = :jobName")
+    Optional<MatchingExpiryCheckpoint> lockByJobName(@Param("jobName") String jobName);
+}
@@ -0,0 +1,135 @@
+package com.example.silverrock.matching.expiry;
+
+import com.example.silverrock.matching.Service.MatchingCounter;
+import com.example.silverrock.matching.dto.GetMatchingExpiryStatsRes;
+import com.example.silverrock.matching.repository.MatchingRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 오래된 대기 중 매칭 요청을 matching_archive 로 옮기고 matching 에서 삭제
+ * 청크마다 짧은 트랜잭션으로 처리하고 matching_expiry_checkpoint 에 진행 상황을 남겨, 중단되어도 이어서 진행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingExpiryJob {
+    static final String JOB_NAME = "matching-expiry";
+
+    private final MatchingRequestRepository matchingRequestRepository;
+    private final MatchingExpiryCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchingCounter matchingCounter;
+
+    @Value("${matching.expiry.max-age-days:30}")
+    private long maxAgeDays;
+
+    @Value("${matching.expiry.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${matching.expiry.chunk-pause-ms:50}")
+    private long chunkPauseMillis; // 청크 사이 대기 (복제 지연, 잠금 경합 완화)
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder archivedTotal = new LongAdder();
+    private volatile long lastRunArchived;
+    private volatile long lastRunMillis;
+
+    @Scheduled(initialDelayString = "${matching.expiry.initial-delay-ms:120000}",
+            fixedDelayString = "${matching.expiry.fixed-delay-ms:3600000}")
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return; // 이 노드에서 이미 실행 중
+        }
+        long started = System.currentTimeMillis();
+        long archived = 0;
+        int chunks = 0;
+        try {
+            while (true) {
+                Chunk chunk = transactionTemplate.execute(status -> archiveChunk());
+                archived += chunk.archived;
+                chunks++;
+                if (chunk.done) {
+                    break;
+                }
+                Thread.sleep(chunkPauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Matching expiry stopped after {} chunks, will resume from checkpoint", chunks, e);
+        } finally {
+            lastRunMillis = System.currentTimeMillis() - started;
+            lastRunArchived = archived;
+            archivedTotal.add(archived);
+            runs.increment();
+            running.set(false);
+        }
+        log.info("Matching expiry finished: {} archived in {} chunks, {} ms", archived, chunks, lastRunMillis);
+    }
+
+    public GetMatchingExpiryStatsRes stats() {
+        MatchingExpiryCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new MatchingExpiryCheckpoint(JOB_NAME));
+        return new GetMatchingExpiryStatsRes(checkpoint.getCutoff(), checkpoint.getLastMatchingId(), checkpoint.getProcessed(),
+                checkpoint.getStartedDate(), checkpoint.getFinishedDate(),
+                runs.sum(), archivedTotal.sum(), lastRunArchived, lastRunMillis);
+    }
+
+    // 체크포인트를 잠근 채로 다음 청크를 옮김
+    private Chunk archiveChunk() {
+        MatchingExpiryCheckpoint checkpoint = checkpointRepository.lockByJobName(JOB_NAME)
+                .orElseGet(() -> checkpointRepository.save(new MatchingExpiryCheckpoint(JOB_NAME)));
+        if (checkpoint.isFinished()) { // 이전 실행이 끝났으면 새 기준 시각으로 시작, 아니면 이어서
+            checkpoint.start(LocalDateTime.now().minusDays(maxAgeDays));
+        }
+
+        // id 순으로 보다가 기준 시각 이후에 만든 요청을 만나면 거기서 멈춤 (그 뒤는 모두 더 최근 요청)
+        List<Object[]> rows = matchingRequestRepository.lockPendingAfter(checkpoint.getLastMatchingId(), chunkSize);
+        List<Long> expired = new ArrayList<>(rows.size());
+        MatchingCounter.Deltas deltas = new MatchingCounter.Deltas(); // 받은 사람의 대기 중 요청 수 감소
+        boolean reachedRecent = false;
+        for (Object[] row : rows) {
+            Timestamp createDate = (Timestamp) row[1];
+            if (createDate != null && !createDate.toLocalDateTime().isBefore(checkpoint.getCutoff())) {
+                reachedRecent = true;
+                break;
+            }
+            expired.add(((Number) row[0]).longValue()); // 생성일이 없는 예전 데이터도 만료 대상
+            deltas.received(((Number) row[2]).longValue(), -1);
+        }
+
+        int archived = 0;
+        if (!expired.isEmpty()) {
+            archived = matchingRequestRepository.archivePendingIn(expired);
+            matchingRequestRepository.deletePendingIn(expired);
+            matchingCounter.apply(deltas); // 커밋 이후 반영
+        }
+        boolean done = reachedRecent || rows.size() < chunkSize;
+        long lastId = expired.isEmpty() ? checkpoint.getLastMatchingId() : expired.get(expired.size() - 1);
+        checkpoint.advance(lastId, archived, done);
+        return new Chunk(archived, done);
+    }
+
+    private static class Chunk {
+        final int archived;
+        final boolean done;
+
+        Chunk(int archived, boolean done) {
+            this.archived = archived;
+            this.done = done;
+        }
+    }
+}
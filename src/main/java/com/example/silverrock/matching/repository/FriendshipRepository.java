@@ -0,0 +1,53 @@
+package com.example.silverrock.matching.repository;
+
+import com.example.silverrock.matching.Entity.Friendship;
+import com.example.silverrock.user.dto.UserCard;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FriendshipRepository extends JpaRepository<Friendship, Friendship.Key> {
+
+    boolean existsByUserIdAndFriendId(Long userId, Long friendId);
+
+    // 양방향 두 행을 한 번에 저장 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "insert ignore into friendship (user_id, friend_id, matching_id, create_date) " +
+            "values (:userId, :friendId, :matchingId, now(6)), (:friendId, :userId, :matchingId, now(6))", nativeQuery = true)
+    int insertPair(@Param("userId") Long userId, @Param("friendId") Long friendId, @Param("matchingId") Long matchingId);
+
+    // 수락된 매칭들의 친구 관계 (양방향)를 한 문장으로 저장 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "insert ignore into friendship (user_id, friend_id, matching_id, create_date) " +
+            "select sender_id, receiver_id, matching_id, now(6) from matching where matching_id in (:ids) and success = true " +
+            "union all " +
+            "select receiver_id, sender_id, matching_id, now(6) from matching where matching_id in (:ids) and success = true", nativeQuery = true)
+    int insertPairsOf(@Param("ids") Collection<Long> matchingIds);
+
+    // 친구 카드를 친구 id 순으로 조회
+    @Query("select new com.example.silverrock.user.dto.UserCard(u.id, u.phoneNum, u.gender, u.nickname, u.birth, u.region, u.introduce, p.profileUrl, p.profileFileName) " +
+            "from Friendship f join User u on u.id = f.friendId left join u.profile p " +
+            "where f.userId = :userId and f.friendId > :cursor order by f.friendId asc")
+    List<UserCard> findFriendCardsAfter(@Param("userId") Long userId, @Param("cursor") Long cursor, Pageable pageable);
+
+    // 조건부 GET용 버전 (친구 수, 친구 관계/유저/프로필 최종 수정 시각)
+    @Query("select count(f), max(f.createDate), max(u.modifiedDate), max(p.modifiedDate) " +
+            "from Friendship f join User u on u.id = f.friendId left join u.profile p where f.userId = :userId")
+    List<Object[]> findVersion(@Param("userId") Long userId);
+
+    // 뱃지 카운터용 유저별 친구 수 (userId, count)
+    @Query("select f.userId, count(f) from Friendship f where f.userId in :userIds group by f.userId")
+    List<Object[]> countByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // 추천 배치용 (userId, friendId)를 PK 순으로 조회
+    @Query("select f.userId, f.friendId from Friendship f " +
+            "where f.userId > :userId or (f.userId = :userId and f.friendId > :friendId) order by f.userId asc, f.friendId asc")
+    List<Object[]> findPairsAfter(@Param("userId") Long userId, @Param("friendId") Long friendId, Pageable pageable);
+}
@@ -1,18 +1,72 @@
 package com.example.silverrock.matching.repository;
 import com.example.silverrock.matching.Entity.Matching;
-import com.example.silverrock.user.User;
+import com.example.silverrock.user.dto.UserCard;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MatchingRequestRepository extends JpaRepository<Matching, Long> {
-    Optional<List<Matching>> findMatchingByReceiver(User user);
+    // 두 유저 사이의 매칭 (방향 무관, uk_matching_pair로 최대 한 건)
+    Optional<Matching> findByPairLowAndPairHigh(Long pairLow, Long pairHigh);
 
-    Optional<List<Matching>> findMatchingBySender(User user);
-    List<Matching> findBySenderAndReceiverAndSuccess(User sender, User receiver, boolean success);
+    // 일괄 수락/거절용: ids 중 내가 받은 대기 중인 매칭의 (matchingId, senderId), 처리할 때까지 행 잠금
+    @Query(value = "select matching_id, sender_id from matching " +
+            "where matching_id in (:ids) and receiver_id = :userId and success = false for update", nativeQuery = true)
+    List<Object[]> lockPendingReceivedIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
 
-    List<Matching> findBySenderAndReceiver(User sender, User receiver);
+    @Modifying
+    @Query("update Matching m set m.success = true, m.modifiedDate = :now " +
+            "where m.matchingId in :ids and m.receiver.id = :userId and m.success = false")
+    int acceptPendingReceivedIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from Matching m where m.matchingId in :ids and m.receiver.id = :userId and m.success = false")
+    int deletePendingReceivedIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    // 만료 작업용: after 다음의 대기 중 매칭 (matchingId, createDate, receiverId)을 id 순으로 잠금 (idx_matching_pending)
+    @Query(value = "select matching_id, create_date, receiver_id from matching " +
+            "where success = false and matching_id > :after order by matching_id limit :limit for update", nativeQuery = true)
+    List<Object[]> lockPendingAfter(@Param("after") Long after, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "insert ignore into matching_archive (matching_id, sender_id, receiver_id, success, create_date, modified_date, archived_date) " +
+            "select matching_id, sender_id, receiver_id, success, create_date, modified_date, now(6) from matching " +
+            "where matching_id in (:ids) and success = false", nativeQuery = true)
+    int archivePendingIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from matching where matching_id in (:ids) and success = false", nativeQuery = true)
+    int deletePendingIn(@Param("ids") Collection<Long> ids);
+
+    // 나에게 온 매칭 중 success 상태가 일치하는 것의 sender 카드 조회
+    @Query("select new com.example.silverrock.user.dto.UserCard(m.matchingId, u.id, u.phoneNum, u.gender, u.nickname, u.birth, u.region, u.introduce, p.profileUrl, p.profileFileName) " +
+            "from Matching m join m.sender u left join u.profile p " +
+            "where m.receiver.id = :userId and m.success = :success and m.matchingId > :cursor order by m.matchingId asc")
+    List<UserCard> findSenderCardsByReceiverAfter(@Param("userId") Long userId, @Param("success") boolean success,
+                                                  @Param("cursor") Long cursor, Pageable pageable);
+
+    // 조건부 GET용 페이지 버전 (카드 조회와 같은 범위의 matchingId, 매칭/sender/프로필 수정 시각만 조회)
+    @Query("select m.matchingId, m.modifiedDate, u.modifiedDate, p.modifiedDate " +
+            "from Matching m join m.sender u left join u.profile p " +
+            "where m.receiver.id = :userId and m.success = :success and m.matchingId > :cursor order by m.matchingId asc")
+    List<Object[]> findReceivedVersionsAfter(@Param("userId") Long userId, @Param("success") boolean success,
+                                             @Param("cursor") Long cursor, Pageable pageable);
+
+    // 뱃지 카운터용 유저별 대기 중인 받은 요청 수 (receiverId, count)
+    @Query("select m.receiver.id, count(m) from Matching m where m.receiver.id in :userIds and m.success = false group by m.receiver.id")
+    List<Object[]> countPendingReceivedByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // 추천 배치용 (matchingId, senderId, receiverId, receiver 성별, success)만 id 순으로 조회
+    @Query("select m.matchingId, m.sender.id, m.receiver.id, r.gender, m.success from Matching m join m.receiver r " +
+            "where m.matchingId > :cursor order by m.matchingId asc")
+    List<Object[]> findHistoryAfter(@Param("cursor") Long cursor, Pageable pageable);
 }
@@ -1,7 +1,6 @@
 package com.example.silverrock.user;
 
 import com.example.silverrock.global.BaseTimeEntity;
-import com.example.silverrock.login.jwt.Token;
 import com.example.silverrock.user.profile.Profile;
 import lombok.*;
 
@@ -9,7 +8,7 @@ import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
-@Entity
+@Entity // 인덱스, 유니크 키는 db/migration V2에서 생성
 @Builder
 @Getter
 @Setter
@@ -18,7 +17,8 @@ import java.util.List;
 public class User extends BaseTimeEntity {
     @Column
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq_generator")
+    @SequenceGenerator(name = "user_seq_generator", sequenceName = "user_seq", allocationSize = 50) // id를 미리 할당받아 insert를 JDBC batch로 묶을 수 있도록
     private Long id; // 멤버의 식별자
 
     @Column(nullable = false)
@@ -42,9 +42,6 @@ public class User extends BaseTimeEntity {
     @Column(nullable = false)
     private String introduce; // 한줄소개
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Token token; // 토큰과 일대일 매핑
-
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Profile profile; // 프로필 사진과 일대일 매핑
 
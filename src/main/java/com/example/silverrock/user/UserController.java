@@ -8,11 +8,16 @@ import com.example.silverrock.user.dto.PostLoginReq;
 import com.example.silverrock.user.dto.PostLoginRes;
 import com.example.silverrock.user.dto.PostUserReq;
 import com.example.silverrock.user.dto.PostUserRes;
+import com.example.silverrock.user.location.UserLocationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import reactor.core.publisher.Flux;
+
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -23,6 +28,7 @@ public class UserController {
 
     private final UserService userService;
     private final JwtService jwtService;
+    private final UserLocationService userLocationService;
 
 
     /**
@@ -94,23 +100,55 @@ public class UserController {
 
 
     /**
-     * 근처 친구 전체 조회 (메인화면)
+     * 근처 친구 조회 (메인화면, 추천 순위(rankCursor) -> id(cursor) 순 페이징, 변경이 없으면 304)
      */
     @GetMapping("/near")
-    public BaseResponse<List<GetNearUserRes>> getNearUser(){
+    public BaseResponse<GetNearUserPageRes> getNearUser(@RequestParam(name = "cursor", required = false) Long cursor,
+                                                        @RequestParam(name = "rankCursor", required = false) Integer rankCursor,
+                                                        @RequestParam(name = "size", defaultValue = "20") int size,
+                                                        WebRequest webRequest){
+        try {
+            Long userId = jwtService.getUserIdx();
+            if (userService.getProfilesByRegionVersion(userId, cursor, rankCursor, size).checkNotModified(webRequest)) {
+                return null; // 304 Not Modified
+            }
+            return new BaseResponse<>(userService.getProfilesByRegion(userId, cursor, rankCursor, size));
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        }
+    }
+
+    /**
+     * 근처 친구 스트리밍 조회 (NDJSON 또는 SSE)
+     */
+    @GetMapping(value = "/near/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<GetNearUserRes> streamNearUser(){
+        Long userId = jwtService.getUserIdx();
+        return userService.streamProfilesByRegion(userId);
+    }
+
+    /**
+     * 반경 내 가까운 친구 조회 (거리순)
+     */
+    @GetMapping("/near/radius")
+    public BaseResponse<List<GetRadiusUserRes>> getNearUserByRadius(@RequestParam(name = "radius", defaultValue = "3000") double radius,
+                                                                   @RequestParam(name = "size", defaultValue = "20") int size){
         try {
             Long userId = jwtService.getUserIdx();
-            return new BaseResponse<>(userService.getProfilesByRegion(userId));
+            return new BaseResponse<>(userLocationService.getNearestUsers(userId, radius, size));
         } catch (BaseException exception) {
             return new BaseResponse<>(exception.getStatus());
         }
     }
 
-    //내 정보 조회
+    //내 정보 조회 (변경이 없으면 304)
     @GetMapping("/myinfo")
-    public BaseResponse<GetUserInfoRes> getMyInfo(){
+    public BaseResponse<GetUserInfoRes> getMyInfo(WebRequest webRequest){
         try{
             Long userId = jwtService.getUserIdx();
+            if (userService.getUserInfoVersion(userId).checkNotModified(webRequest)) {
+                return null; // 304 Not Modified
+            }
             return new BaseResponse<>(userService.getUserInfo(userId));
         }catch (BaseException exception){
             return new BaseResponse<>(exception.getStatus());
@@ -1,5 +1,8 @@
 package com.example.silverrock.user;
 
+import com.example.silverrock.user.dto.UserCard;
+import com.example.silverrock.user.password.UserCredential;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +19,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findUserByPhoneNum(@Param("phoneNum") String phoneNum);
 
+    // 로그인용 (id, 비밀번호)만 조회
+    Optional<UserCredential> findCredentialByPhoneNum(String phoneNum);
+
  /*   @Modifying
     @Query("delete from User u where u.id = :userId")
     void deleteUser(@Param("userId") Long userId);
@@ -23,4 +29,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByNickname(String nickName);
 
     List<User> findByRegionAndIdNot(String region, Long userId);
+
+    // 같은 지역 유저 카드를 id 기준 keyset 페이징으로 조회 (프로필을 같은 쿼리에서 함께 조회)
+    @Query("select new com.example.silverrock.user.dto.UserCard(u.id, u.phoneNum, u.gender, u.nickname, u.birth, u.region, u.introduce, p.profileUrl, p.profileFileName) " +
+            "from User u left join u.profile p " +
+            "where u.region = :region and u.id <> :userId and u.id > :cursor order by u.id asc")
+    List<UserCard> findNearCardsAfter(@Param("region") String region, @Param("userId") Long userId,
+                                      @Param("cursor") Long cursor, Pageable pageable);
+
+    // 지역 인덱스 적재용 (id, region)만 id 순으로 조회
+    @Query("select u.id, u.region from User u where u.id > :cursor order by u.id asc")
+    List<Object[]> findIdAndRegionAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    // 닉네임 filter 적재용 (id, nickname)만 id 순으로 조회
+    @Query("select u.id, u.nickname from User u where u.id > :cursor order by u.id asc")
+    List<Object[]> findIdAndNicknameAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    // 조건부 GET용 버전 (유저, 프로필 수정 시각)
+    @Query("select u.modifiedDate, p.modifiedDate from User u left join u.profile p where u.id = :userId")
+    List<Object[]> findVersionById(@Param("userId") Long userId);
+
+    // 일괄 등록 시 청크 단위 중복 확인
+    @Query("select u.nickname from User u where u.nickname in :nicknames")
+    List<String> findNicknamesIn(@Param("nicknames") List<String> nicknames);
+
+    @Query("select u.phoneNum from User u where u.phoneNum in :phoneNums")
+    List<String> findPhoneNumsIn(@Param("phoneNums") List<String> phoneNums);
+
+    // 추천 배치용 (id, region, gender, birth, modifiedDate)만 id 순으로 조회
+    @Query("select u.id, u.region, u.gender, u.birth, u.modifiedDate from User u where u.id > :cursor order by u.id asc")
+    List<Object[]> findRecommendationSourceAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    // id 목록에 해당하는 유저 카드를 프로필과 함께 한 번에 조회
+    @Query("select new com.example.silverrock.user.dto.UserCard(u.id, u.phoneNum, u.gender, u.nickname, u.birth, u.region, u.introduce, p.profileUrl, p.profileFileName) " +
+            "from User u left join u.profile p where u.id in :ids")
+    List<UserCard> findCardsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select new com.example.silverrock.user.dto.UserCard(u.id, u.phoneNum, u.gender, u.nickname, u.birth, u.region, u.introduce, p.profileUrl, p.profileFileName) " +
+            "from User u left join u.profile p where u.id = :id")
+    Optional<UserCard> findCardById(@Param("id") Long id);
 }
\ No newline at end of file
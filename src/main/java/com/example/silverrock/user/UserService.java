@@ -7,17 +7,36 @@ import com.example.silverrock.global.UtilService;
 import com.example.silverrock.login.dto.JwtResponseDTO;
 import com.example.silverrock.login.jwt.*;
 import com.example.silverrock.user.dto.*;
+import com.example.silverrock.user.location.UserLocationService;
+import com.example.silverrock.user.nickname.NicknameRegistry;
+import com.example.silverrock.user.password.PasswordVerifier;
+import com.example.silverrock.user.password.UserCredential;
 import com.example.silverrock.user.profile.Profile;
 import com.example.silverrock.user.profile.ProfileRepository;
 import com.example.silverrock.user.profile.ProfileService;
+import com.example.silverrock.user.recommend.UserRecommendation;
+import com.example.silverrock.user.recommend.UserRecommendationRepository;
+import com.example.silverrock.user.region.NearUserCardCache;
+import com.example.silverrock.user.region.RegionIndex;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import com.example.silverrock.global.AES128;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import com.example.silverrock.global.ResourceVersion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.example.silverrock.global.Response.BaseResponseStatus.*;
@@ -29,13 +48,24 @@ import static com.example.silverrock.global.Response.BaseResponseStatus.*;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
+    private final TokenStore tokenStore;
     private final UtilService utilService;
     private final JwtProvider jwtProvider;
     private final JwtService jwtService;
     private final ProfileService profileService;
     private final ProfileRepository profileRepository;
     private final S3Service s3Service;
+    private final RegionIndex regionIndex;
+    private final NearUserCardCache nearUserCardCache;
+    private final UserRecommendationRepository userRecommendationRepository;
+    private final UserLocationService userLocationService;
+    private final NicknameRegistry nicknameRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordVerifier passwordVerifier;
+
+    private static final int NEAR_PAGE_MAX_SIZE = 100; // 근처 친구 조회 시 한 페이지 최대 크기
+    private static final int STREAM_CHUNK_SIZE = 100; // 스트리밍 조회 시 한 번에 읽어오는 수
 
     /**
      * 유저 생성 후 DB에 저장(회원 가입) with JWT
@@ -48,16 +78,19 @@ public class UserService {
         if(!postUserReq.getPassword().equals(postUserReq.getPasswordChk())) {
             throw new BaseException(PASSWORD_MISSMATCH);
         }
-        String pwd;
-        try{
-            pwd = new AES128(Secret.USER_INFO_PASSWORD_KEY).encrypt(postUserReq.getPassword()); // 암호화 코드
-        }
-        catch (Exception ignored) { // 암호화가 실패하였을 경우 에러 발생
-            throw new BaseException(PASSWORD_ENCRYPTION_ERROR);
+        // 닉네임 선점 후 DB 중복 확인 (동시에 같은 닉네임으로 가입하는 경우 한 명만 통과)
+        if(!nicknameRegistry.reserve(postUserReq.getNickname(), postUserReq.getPhoneNum())
+                || userRepository.existsByNickname(postUserReq.getNickname())) {
+            throw new BaseException(DUPLICATED_NICKNAME);
         }
+        String pwd = passwordVerifier.encode(postUserReq.getPassword()); // 암호화 코드 (실패 시 PASSWORD_ENCRYPTION_ERROR)
         User user = new User(postUserReq.getPhoneNum(), postUserReq.getGender(), postUserReq.getNickname(),
                 postUserReq.getBirth(), postUserReq.getRegion(), pwd, postUserReq.getIntroduce());
         userRepository.save(user);
+        regionIndex.add(user.getId(), user.getRegion());
+        nearUserCardCache.evict(user.getId(), user.getRegion());
+        nicknameRegistry.register(user.getNickname());
+        userLocationService.saveLocation(user, postUserReq.getLatitude(), postUserReq.getLongitude());
         GetS3Res getS3Res;
         if(multipartFile != null) {
             getS3Res = s3Service.uploadSingleFile(multipartFile);
@@ -71,9 +104,8 @@ public class UserService {
     /**
      * 닉네임 중복 확인
      */
-    @Transactional
     public String checkNickname(String nickname) throws BaseException {
-        if(userRepository.existsByNickname(nickname)) {
+        if(!nicknameRegistry.isAvailable(nickname)) {
             return "이미 존재하는 닉네임입니다.";
         }
         return "사용 가능한 닉네임입니다";
@@ -85,39 +117,18 @@ public class UserService {
      * 유저 로그인 with JWT
     */
     public PostLoginRes login(PostLoginReq postLoginReq) throws BaseException {
-        User user = userRepository.findUserByPhoneNum(postLoginReq.getPhoneNum()).get();
-        Token existToken = tokenRepository.findTokenByUserId(user.getId()).orElse(null);
+        // (id, 비밀번호)만 조회, 없는 번호도 비밀번호 오류와 같은 응답
+        UserCredential credential = userRepository.findCredentialByPhoneNum(postLoginReq.getPhoneNum())
+                .orElseThrow(() -> new BaseException(FAILED_TO_LOGIN));
 
-        String password;
-        try {
-            password = new AES128(Secret.USER_INFO_PASSWORD_KEY).decrypt(user.getPassword());
-        } catch (Exception ignored) {
-            throw new BaseException(PASSWORD_DECRYPTION_ERROR);
-        }
-
-        JwtResponseDTO.TokenInfo tokenInfo = jwtProvider.generateToken(user.getId());
-
-        if (postLoginReq.getPassword().equals(password)) {
-            if (existToken != null) {
-                // Update existing token
-                existToken.setAccessToken(tokenInfo.getAccessToken());
-                existToken.setRefreshToken(tokenInfo.getRefreshToken());
-                Token updateToken = tokenRepository.save(existToken);
-                return new PostLoginRes(user, updateToken);
-            } else {
-                // Save new token
-                Token newToken = Token.builder()
-                        .accessToken(tokenInfo.getAccessToken())
-                        .refreshToken(tokenInfo.getRefreshToken())
-                        .user(user)
-                        .build();
-                tokenRepository.save(newToken);
-                return new PostLoginRes(user, newToken);
-            }
-
-        } else {
+        if (!passwordVerifier.matches(postLoginReq.getPassword(), credential.getPassword())) {
             throw new BaseException(FAILED_TO_LOGIN);
         }
+
+        // 비밀번호 확인이 끝난 뒤에만 토큰 발급
+        JwtResponseDTO.TokenInfo tokenInfo = jwtProvider.generateToken(credential.getId());
+        tokenStore.save(credential.getId(), tokenInfo); // 기존 세션이 있으면 덮어씀 (Redis, refresh token 유효기간 TTL)
+        return new PostLoginRes(credential.getId(), tokenInfo.getAccessToken(), tokenInfo.getRefreshToken());
     }
 
     /**
@@ -145,6 +156,7 @@ public class UserService {
                     profileService.saveProfile(getS3Res, user);
                 }
             }
+            nearUserCardCache.evict(userId, user.getRegion());     //근처 친구 카드 캐시 무효화
             return "프로필 수정이 완료되었습니다.";
         } catch (BaseException exception) {
             throw new BaseException(exception.getStatus());
@@ -157,11 +169,14 @@ public class UserService {
     @Transactional
     public String logout(Long userId) throws BaseException {
         try {
+            String accessToken = jwtService.getJwt();
+            verifiedTokenCache.evict(accessToken); // 검증된 토큰 캐시에서 제거
+            revoke(accessToken); // 만료 전 access token도 더 이상 쓸 수 없도록 폐기 목록에 등록
             if (userId == 0L) { // 로그아웃 요청은 access token이 만료되더라도 재발급할 필요가 없음.
-                User user = tokenRepository.findUserByAccessToken(jwtService.getJwt()).orElse(null);
-                if (user != null) {
-                    Token token = tokenRepository.findTokenByUserId(user.getId()).orElse(null);
-                    tokenRepository.deleteTokenByAccessToken(token.getAccessToken());
+                Long sessionUserId = tokenStore.findUserIdByAccessToken(jwtService.getJwt());
+                if (sessionUserId != null) {
+                    revokeSession(sessionUserId);
+                    tokenStore.delete(sessionUserId);
                     return "로그아웃 되었습니다.";
                 }
                 else {  //사용자가 존재하지 않는다면
@@ -170,8 +185,9 @@ public class UserService {
             }
             else { // 토큰이 만료되지 않은 경우
                 User logoutUser = utilService.findByUserIdWithValidation(userId);
-                //리프레쉬 토큰 삭제
-                tokenRepository.deleteTokenByUserId(logoutUser.getId());
+                //세션(리프레쉬 토큰) 삭제
+                revokeSession(logoutUser.getId());
+                tokenStore.delete(logoutUser.getId());
                 return "로그아웃 되었습니다.";
             }
         } catch (Exception e) {
@@ -180,45 +196,193 @@ public class UserService {
 
     }
 
-    public List<GetNearUserRes> getProfilesByRegion(Long userId) throws BaseException{
+    // 토큰의 jti를 남은 유효시간 동안 폐기 목록에 등록
+    private void revoke(String token) {
+        if (token != null && !token.isEmpty()) {
+            Claims claims = jwtProvider.parseClaims(token);
+            tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        }
+    }
 
-        User currentUser = userRepository.findUserById(userId).get();
-        String region=currentUser.getRegion();
+    // 세션에 남아 있는 access/refresh token 폐기
+    private void revokeSession(Long userId) {
+        JwtResponseDTO.TokenInfo session = tokenStore.findByUserId(userId);
+        if (session != null) {
+            revoke(session.getAccessToken());
+            revoke(session.getRefreshToken());
+        }
+    }
 
-        List<User> usersInSameRegion = userRepository.findByRegionAndIdNot(region, userId); // 같은 지역이면서 나는 제외해서 조회되도록
-        if(usersInSameRegion.isEmpty()){
+    /**
+     * 근처 친구 조회 (추천 순위 페이징 후 id 기준 keyset 페이징)
+     * rankCursor가 있으면 추천 순위 다음부터, cursor가 있으면 id 다음부터 (둘 다 없으면 첫 페이지)
+     * 추천 목록이 끝나면 nextCursor = 0 으로 id 순 목록으로 이어짐 (추천에 나온 유저는 제외)
+     */
+    @Transactional(readOnly = true)
+    public GetNearUserPageRes getProfilesByRegion(Long userId, Long cursor, Integer rankCursor, int size) throws BaseException{
+
+        int pageSize = Math.min(Math.max(size, 1), NEAR_PAGE_MAX_SIZE);
+
+        String indexedRegion = regionIndex.isReady() ? regionIndex.regionOf(userId) : null;
+        if (indexedRegion != null && cursor == null) {
+            // 미리 계산된 추천 목록이 있으면 순위 순으로 반환
+            int rankAfter = (rankCursor == null) ? 0 : rankCursor;
+            List<UserRecommendation> ranked = userRecommendationRepository.findRankedAfter(userId, rankAfter, PageRequest.of(0, pageSize + 1));
+            if (!ranked.isEmpty()) {
+                return getRankedPage(indexedRegion, ranked, pageSize);
+            }
+        }
+        boolean indexed = indexedRegion != null;
+        String region = indexed ? indexedRegion : utilService.findByUserIdWithValidation(userId).getRegion();
+        long after = (cursor == null) ? 0L : cursor;
+
+        // 추천 목록으로 이미 보여준 유저는 id 순 목록에서 건너뜀 (추천은 유저당 최대 TOP_N행, 요청당 한 번 조회)
+        Set<Long> recommended = new HashSet<>(userRecommendationRepository.findCandidateIdsByUserId(userId));
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 모일 때까지 청크 단위로 읽음
+        List<GetNearUserRes> nearUsers = new ArrayList<>(pageSize + 1);
+        RegionChunk chunk;
+        do {
+            chunk = findRegionChunk(userId, region, indexed, after, pageSize + 1);
+            for (GetNearUserRes card : chunk.cards) {
+                if (nearUsers.size() <= pageSize && !recommended.contains(card.getId())) {
+                    nearUsers.add(card);
+                }
+            }
+            after = chunk.lastId;
+        } while (chunk.full && nearUsers.size() <= pageSize);
+
+        if(nearUsers.isEmpty() && cursor == null && rankCursor == null){
             throw new BaseException(NONE_NEAR);
         }
 
-        List<GetNearUserRes> getNearUserRes= usersInSameRegion.stream()
-                .map(user -> new GetNearUserRes(user.getId(), user.getGender(), user.getNickname(), user.getBirth(), user.getRegion(), user.getIntroduce(),
-                        new GetS3Res(user.getProfile().getProfileUrl(), user.getProfile().getProfileFileName()))).collect(Collectors.toList());
+        boolean hasNext = nearUsers.size() > pageSize;
+        List<GetNearUserRes> page = hasNext ? nearUsers.subList(0, pageSize) : nearUsers;
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+        return new GetNearUserPageRes(page, nextCursor, null);
+    }
 
-        return getNearUserRes;
+    /**
+     * 근처 친구 조회 버전 (Redis 지역 버전 + 추천 목록 세대, 지역 전체를 세지 않음)
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getProfilesByRegionVersion(Long userId, Long cursor, Integer rankCursor, int size) throws BaseException {
+        String indexedRegion = regionIndex.isReady() ? regionIndex.regionOf(userId) : null;
+        String region = (indexedRegion != null) ? indexedRegion : utilService.findByUserIdWithValidation(userId).getRegion();
+
+        String regionVersion = nearUserCardCache.regionVersion(region);
+        if (regionVersion == null) { // 버전을 알 수 없으면 항상 새로 응답
+            regionVersion = "unknown:" + System.nanoTime();
+        }
+        Long rankedGeneration = userRecommendationRepository.findGenerationByUserId(userId); // 내 추천 최대 TOP_N행 PK 범위 조회
+        return ResourceVersion.etag("near", userId, cursor, rankCursor, size, region, regionVersion, rankedGeneration);
+    }
+
+    /**
+     * 근처 친구 스트리밍 조회 (id 순, 구독자가 요청하는 만큼만 청크 단위로 조회)
+     */
+    public Flux<GetNearUserRes> streamProfilesByRegion(Long userId) throws BaseException {
+        String indexedRegion = regionIndex.isReady() ? regionIndex.regionOf(userId) : null;
+        boolean indexed = indexedRegion != null;
+        String region = indexed ? indexedRegion : utilService.findByUserIdWithValidation(userId).getRegion();
+
+        return Mono.fromCallable(() -> findRegionChunk(userId, region, indexed, 0L, STREAM_CHUNK_SIZE))
+                .expand(chunk -> chunk.full
+                        ? Mono.fromCallable(() -> findRegionChunk(userId, region, indexed, chunk.lastId, STREAM_CHUNK_SIZE))
+                        : Mono.empty())
+                .concatMapIterable(chunk -> chunk.cards, 1)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // 같은 지역 유저 카드를 id 순으로 after 다음부터 최대 limit개 조회 (나는 제외)
+    // 인덱스 적재 후에는 메모리 지역 인덱스에서 id를 구한 뒤 카드는 Redis 캐시 -> DB 순으로, 적재 전에는 DB에서 직접 조회
+    private RegionChunk findRegionChunk(Long userId, String region, boolean indexed, long after, int limit) {
+        if (indexed) {
+            long[] ids = regionIndex.idsAfter(region, userId, after, limit);
+            long lastId = (ids.length == 0) ? after : ids[ids.length - 1];
+            return new RegionChunk(findNearCards(region, ids), lastId, ids.length == limit);
+        }
+        List<GetNearUserRes> cards = userRepository.findNearCardsAfter(region, userId, after, PageRequest.of(0, limit))
+                .stream().map(UserCard::toGetNearUserRes).collect(Collectors.toList());
+        long lastId = cards.isEmpty() ? after : cards.get(cards.size() - 1).getId();
+        return new RegionChunk(cards, lastId, cards.size() == limit);
+    }
+
+    private static class RegionChunk {
+        final List<GetNearUserRes> cards;
+        final long lastId; // 다음 청크 조회 기준 id
+        final boolean full; // limit만큼 찼으면 다음 청크가 있을 수 있음
+
+        RegionChunk(List<GetNearUserRes> cards, long lastId, boolean full) {
+            this.cards = cards;
+            this.lastId = lastId;
+            this.full = full;
+        }
+    }
+
+    // 추천 순위대로 카드 조회, 그 사이 다른 지역으로 옮긴 후보는 제외
+    // 마지막 추천 페이지면 id 순 목록 처음(cursor 0)으로 이어지도록 함
+    private GetNearUserPageRes getRankedPage(String region, List<UserRecommendation> ranked, int pageSize) {
+        boolean hasNext = ranked.size() > pageSize;
+        List<UserRecommendation> page = hasNext ? ranked.subList(0, pageSize) : ranked;
+
+        long[] ids = page.stream().mapToLong(UserRecommendation::getCandidateId).toArray();
+        List<GetNearUserRes> cards = findNearCards(region, ids).stream()
+                .filter(card -> region.equals(card.getRegion()))
+                .collect(Collectors.toList());
+
+        if (hasNext) {
+            return new GetNearUserPageRes(cards, null, page.get(page.size() - 1).getRanking());
+        }
+        return new GetNearUserPageRes(cards, 0L, null);
+    }
+
+    // 정렬된 id 배열 순서대로 카드 조회, 캐시에 없는 카드만 PK로 한 번에 조회 후 캐시에 적재
+    private List<GetNearUserRes> findNearCards(String region, long[] ids) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        Map<Long, GetNearUserRes> cards = nearUserCardCache.getCards(region, ids);
+        List<Long> missing = Arrays.stream(ids).filter(id -> !cards.containsKey(id)).boxed().collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            String version = nearUserCardCache.regionVersion(region); // DB 조회 전 버전, 그 사이 변경되면 캐시에 넣지 않음
+            List<GetNearUserRes> loaded = userRepository.findCardsByIdIn(missing).stream()
+                    .map(UserCard::toGetNearUserRes).collect(Collectors.toList());
+            loaded.forEach(card -> cards.put(card.getId(), card));
+            nearUserCardCache.putCards(region, loaded, version);
+        }
+        return Arrays.stream(ids).filter(cards::containsKey).mapToObj(cards::get).collect(Collectors.toList());
     }
 
     //내 정보 조회
+    @Transactional(readOnly = true)
     public GetUserInfoRes getUserInfo(Long userId) throws BaseException{
 
-        User currentUser = userRepository.findUserById(userId).get();
-        GetUserInfoRes userInfo = new GetUserInfoRes(
-                currentUser.getPhoneNum(),
-                currentUser.getGender(),
-                currentUser.getNickname(),
-                currentUser.getBirth(),
-                currentUser.getRegion(),
-                currentUser.getIntroduce(),
-                new GetS3Res(currentUser.getProfile().getProfileUrl(), currentUser.getProfile().getProfileFileName())
-        );
+        return userRepository.findCardById(userId)
+                .map(UserCard::toGetUserInfoRes)
+                .orElseThrow(() -> new BaseException(USER_NOT_FOUND));
+    }
 
-        return userInfo;
+    //내 정보 조회 버전 (유저/프로필 수정 시각)
+    @Transactional(readOnly = true)
+    public ResourceVersion getUserInfoVersion(Long userId) throws BaseException{
+        List<Object[]> rows = userRepository.findVersionById(userId);
+        if (rows.isEmpty()) {
+            throw new BaseException(USER_NOT_FOUND);
+        }
+        LocalDateTime userModified = (LocalDateTime) rows.get(0)[0];
+        LocalDateTime profileModified = (LocalDateTime) rows.get(0)[1];
+        return ResourceVersion.etag("myinfo", userId, userModified, profileModified)
+                .lastModified(userModified, profileModified);
     }
 
-    //내 정보 수정
+    //내 정보 수정 (실패 시 닉네임 선점 해제, 인덱스/캐시는 커밋 이후 반영)
+    @Transactional
     public GetUserInfoRes modifyUserInfo(Long userId, GetUserInfoReq userInfoReq) throws BaseException{
 
         GetUserInfoRes currentUserInfo = getUserInfo(userId);   //기존 유저 정보
         User currentUser = userRepository.findUserById(userId).get();   //현재 유저
+        String oldRegion = currentUser.getRegion();
 
         String phoneNum = currentUserInfo.getPhoneNum();
         String gender = currentUserInfo.getGender();
@@ -238,9 +402,15 @@ public class UserService {
                 gender = userInfoReq.getGender();
                 currentUser.setGender(gender);
             }
-            if (userInfoReq.getNickname() != null) {
+            if (userInfoReq.getNickname() != null && !userInfoReq.getNickname().equals(nickname)) {
+                // 닉네임 선점 후 DB 중복 확인
+                if (!nicknameRegistry.reserve(userInfoReq.getNickname(), "user:" + userId)
+                        || userRepository.existsByNickname(userInfoReq.getNickname())) {
+                    throw new BaseException(DUPLICATED_NICKNAME);
+                }
                 nickname = userInfoReq.getNickname();
                 currentUser.setNickname(nickname);
+                nicknameRegistry.register(nickname);
             }
             if (userInfoReq.getBirth() != null) {
                 birth = userInfoReq.getBirth();
@@ -254,9 +424,12 @@ public class UserService {
                 introduce = userInfoReq.getIntroduce();
                 currentUser.setIntroduce(introduce);
             }
+            userLocationService.saveLocation(currentUser, userInfoReq.getLatitude(), userInfoReq.getLongitude());
         }
 
         userRepository.save(currentUser);       //변경 사항 db에 업데이트
+        regionIndex.move(userId, oldRegion, region);    //지역 인덱스 갱신
+        nearUserCardCache.evict(userId, oldRegion, region);     //근처 친구 카드 캐시 무효화
 
         GetUserInfoRes newUserInfo = new GetUserInfoRes(
                 phoneNum, gender, nickname, birth, region, introduce, getS3Res
@@ -0,0 +1,39 @@
+package com.example.silverrock.user.bulk;
+
+import com.example.silverrock.global.AdminKeyValidator;
+import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.global.Response.BaseResponse;
+import com.example.silverrock.user.dto.PostUserImportRes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+import static com.example.silverrock.global.Response.BaseResponseStatus.FAILED_TO_IMPORT;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/admin/user")
+public class AdminUserController {
+
+    private final UserImportService userImportService;
+    private final AdminKeyValidator adminKeyValidator;
+
+    /**
+     * 유저 일괄 등록 (text/csv 또는 application/x-ndjson 본문을 스트림으로 처리)
+     * 위도/경도(latitude, longitude)는 선택, 있으면 위치도 저장되어 반경 검색(/user/near/radius)에 나옴
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public BaseResponse<PostUserImportRes> importUsers(@RequestHeader(value = "X-Admin-Key", required = false) String adminKey,
+                                                       HttpServletRequest request) {
+        try {
+            adminKeyValidator.validate(adminKey);
+            return new BaseResponse<>(userImportService.importUsers(request.getInputStream(), request.getContentType()));
+        } catch (BaseException exception) {
+            return new BaseResponse<>(exception.getStatus());
+        } catch (IOException exception) {
+            return new BaseResponse<>(FAILED_TO_IMPORT);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.silverrock.user.bulk;
+
+import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.user.User;
+import com.example.silverrock.user.UserRepository;
+import com.example.silverrock.user.dto.PostUserImportRes;
+import com.example.silverrock.user.dto.PostUserReq;
+import com.example.silverrock.user.location.UserLocationService;
+import com.example.silverrock.user.nickname.NicknameRegistry;
+import com.example.silverrock.user.password.PasswordVerifier;
+import com.example.silverrock.user.region.NearUserCardCache;
+import com.example.silverrock.user.region.RegionIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.example.silverrock.global.Response.BaseResponseStatus.FAILED_TO_IMPORT;
+import static com.example.silverrock.global.Response.BaseResponseStatus.UNSUPPORTED_IMPORT_FORMAT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 유저 일괄 등록 (CSV / NDJSON 스트림)
+ * 파일을 한 줄씩 읽어 청크 단위로 검증 -> 병렬 암호화 -> JDBC batch insert, 실패한 행은 건너뛰고 결과에 기록
+ * 위도/경도(CSV는 선택 컬럼 latitude, longitude)가 있으면 위치도 함께 저장해 반경 검색에 나오도록 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> CSV_COLUMNS = List.of("phoneNum", "gender", "nickname", "birth", "region", "introduce", "password");
+
+    private final UserRepository userRepository;
+    private final RegionIndex regionIndex;
+    private final NearUserCardCache nearUserCardCache;
+    private final NicknameRegistry nicknameRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PasswordVerifier passwordVerifier;
+    private final UserLocationService userLocationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PostUserImportRes importUsers(InputStream inputStream, String contentType) throws BaseException {
+        boolean csv;
+        if (contentType != null && contentType.startsWith("text/csv")) {
+            csv = true;
+        } else if (contentType != null && contentType.startsWith("application/x-ndjson")) {
+            csv = false;
+        } else {
+            throw new BaseException(UNSUPPORTED_IMPORT_FORMAT);
+        }
+
+        ImportResult result = new ImportResult();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, UTF_8))) {
+            Map<String, Integer> header = null;
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            Set<String> seenNicknames = new HashSet<>();
+            Set<String> seenPhoneNums = new HashSet<>();
+            String line;
+            long lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                result.total++;
+                try {
+                    PostUserReq req = csv ? toPostUserReq(header, parseCsvLine(line)) : objectMapper.readValue(line, PostUserReq.class);
+                    String error = validate(req);
+                    if (error == null && !seenNicknames.add(req.getNickname())) {
+                        error = "파일 안에서 중복된 닉네임입니다.";
+                    }
+                    if (error == null && !seenPhoneNums.add(req.getPhoneNum())) {
+                        error = "파일 안에서 중복된 휴대폰번호입니다.";
+                    }
+                    if (error != null) {
+                        result.fail(lineNo, error);
+                    } else {
+                        chunk.add(new Row(lineNo, req));
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    result.fail(lineNo, "행 형식이 올바르지 않습니다.");
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, result);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            importChunk(chunk, result);
+        } catch (IOException e) {
+            log.warn("User import stream failed", e);
+            throw new BaseException(FAILED_TO_IMPORT);
+        }
+        return new PostUserImportRes(result.total, result.imported, result.errors);
+    }
+
+    private void importChunk(List<Row> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // DB에 이미 있는 닉네임/휴대폰번호는 청크 단위로 한 번에 확인
+        Set<String> takenNicknames = new HashSet<>(userRepository.findNicknamesIn(
+                chunk.stream().map(row -> row.req.getNickname()).collect(Collectors.toList())));
+        Set<String> takenPhoneNums = new HashSet<>(userRepository.findPhoneNumsIn(
+                chunk.stream().map(row -> row.req.getPhoneNum()).collect(Collectors.toList())));
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (takenNicknames.contains(row.req.getNickname())) {
+                result.fail(row.line, "이미 존재하는 닉네임입니다.");
+            } else if (takenPhoneNums.contains(row.req.getPhoneNum())) {
+                result.fail(row.line, "이미 가입된 휴대폰번호입니다.");
+            } else {
+                valid.add(row);
+            }
+        }
+
+        // 비밀번호 암호화는 CPU 작업이므로 병렬 처리
+        valid.parallelStream().forEach(row -> row.user = toUser(row.req));
+        valid.removeIf(row -> {
+            if (row.user == null) {
+                result.fail(row.line, "비밀번호 암호화에 실패하였습니다.");
+                return true;
+            }
+            return false;
+        });
+
+        try {
+            persist(valid);
+            result.imported += valid.size();
+        } catch (RuntimeException e) {
+            // 청크 전체가 실패하면 행 단위로 다시 넣어 실패한 행만 기록
+            log.warn("User import chunk failed, retrying row by row", e);
+            for (Row row : valid) {
+                try {
+                    row.user = toUser(row.req);
+                    persist(List.of(row));
+                    result.imported++;
+                } catch (RuntimeException rowException) {
+                    result.fail(row.line, "저장에 실패하였습니다.");
+                }
+            }
+        }
+    }
+
+    private void persist(List<Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Row row : rows) {
+                entityManager.persist(row.user);
+                addLocation(row);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            rows.forEach(row -> {
+                regionIndex.add(row.user.getId(), row.user.getRegion());
+                nicknameRegistry.register(row.user.getNickname());
+            });
+            nearUserCardCache.touch(rows.stream().map(row -> row.user.getRegion()).collect(Collectors.toSet())); // 지역 목록 버전 증가
+        });
+    }
+
+    // 좌표는 validate에서 확인했으므로 실패하면 청크를 행 단위로 다시 시도하도록 런타임 예외로
+    private void addLocation(Row row) {
+        try {
+            userLocationService.addLocation(row.user, row.req.getLatitude(), row.req.getLongitude());
+        } catch (BaseException e) {
+            throw new IllegalStateException("Invalid location on line " + row.line, e);
+        }
+    }
+
+    private User toUser(PostUserReq req) {
+        try {
+            String pwd = passwordVerifier.encode(req.getPassword());
+            return new User(req.getPhoneNum(), req.getGender(), req.getNickname(), req.getBirth(), req.getRegion(), pwd, req.getIntroduce());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String validate(PostUserReq req) {
+        if (isBlank(req.getPhoneNum()) || isBlank(req.getGender()) || isBlank(req.getNickname())
+                || isBlank(req.getBirth()) || isBlank(req.getRegion()) || req.getIntroduce() == null) {
+            return "필수 항목이 비어 있습니다.";
+        }
+        if (isBlank(req.getPassword())) {
+            return "비밀번호를 입력해주세요";
+        }
+        if (req.getPasswordChk() != null && !req.getPassword().equals(req.getPasswordChk())) {
+            return "비밀번호가 일치하지 않습니다.";
+        }
+        if ((req.getLatitude() == null) != (req.getLongitude() == null)
+                || (req.getLatitude() != null && !UserLocationService.isValidLocation(req.getLatitude(), req.getLongitude()))) {
+            return "위치 정보를 확인해주세요.";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> columns = parseCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+        if (!header.keySet().containsAll(CSV_COLUMNS)) {
+            throw new BaseException(UNSUPPORTED_IMPORT_FORMAT);
+        }
+        return header;
+    }
+
+    private static PostUserReq toPostUserReq(Map<String, Integer> header, List<String> values) {
+        return new PostUserReq(column(header, values, "phoneNum"), column(header, values, "gender"),
+                column(header, values, "nickname"), column(header, values, "birth"), column(header, values, "region"),
+                column(header, values, "introduce"), column(header, values, "password"), column(header, values, "passwordChk"),
+                coordinate(column(header, values, "latitude")), coordinate(column(header, values, "longitude")));
+    }
+
+    // 비어 있으면 null, 숫자가 아니면 NumberFormatException(행 형식 오류)
+    private static Double coordinate(String value) {
+        return isBlank(value) ? null : Double.valueOf(value.trim());
+    }
+
+    private static String column(Map<String, Integer> header, List<String> values, String name) {
+        Integer index = header.get(name);
+        return (index == null || index >= values.size()) ? null : values.get(index);
+    }
+
+    // 큰따옴표로 감싼 값("a, b", "" 이스케이프)을 지원하는 한 줄 CSV 파서
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static class Row {
+        final long line;
+        final PostUserReq req;
+        volatile User user;
+
+        Row(long line, PostUserReq req) {
+            this.line = line;
+            this.req = req;
+        }
+    }
+
+    private static class ImportResult {
+        int total;
+        int imported;
+        final List<PostUserImportRes.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PostUserImportRes.RowError(line, message));
+            }
+        }
+    }
+}
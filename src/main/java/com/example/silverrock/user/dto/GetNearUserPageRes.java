@@ -0,0 +1,16 @@
+package com.example.silverrock.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetNearUserPageRes {
+    private List<GetNearUserRes> users; // 근처 유저 목록 (id 오름차순)
+    private Long nextCursor; // 다음 페이지 요청 시 cursor로 보낼 id, 추천 목록 중이거나 마지막 페이지면 null
+    private Integer nextRankCursor; // 다음 페이지 요청 시 rankCursor로 보낼 추천 순위, 추천 목록이 아니면 null
+}
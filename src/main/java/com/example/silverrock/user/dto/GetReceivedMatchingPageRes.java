@@ -0,0 +1,15 @@
+package com.example.silverrock.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetReceivedMatchingPageRes {
+    private List<ReceivedMatchingRes> matchings; // 대기 중인 받은 매칭 요청 (matchingId 오름차순)
+    private Long nextCursor; // 다음 페이지 요청 시 사용할 커서, 마지막 페이지면 null
+}
@@ -2,8 +2,10 @@ package com.example.silverrock.user.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class GetS3Res {
     private String imgUrl;
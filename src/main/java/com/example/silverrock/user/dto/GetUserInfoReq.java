@@ -14,5 +14,7 @@ public class GetUserInfoReq {
     private String birth; // 유저의 생년
     private String region; // 유저의 지역(시/군/구)
     private String introduce; // 한줄소개
+    private Double latitude; // 위도
+    private Double longitude; // 경도
 //    private GetS3Res getS3Res;
 }
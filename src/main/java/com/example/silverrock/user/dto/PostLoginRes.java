@@ -1,5 +1,5 @@
 package com.example.silverrock.user.dto;
-import com.example.silverrock.login.jwt.Token;
+import com.example.silverrock.login.dto.JwtResponseDTO;
 import com.example.silverrock.user.User;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,9 +15,9 @@ public class PostLoginRes {
     private String accessToken;
     private String refreshToken;
 
-    public PostLoginRes(User user, Token token) {
+    public PostLoginRes(User user, JwtResponseDTO.TokenInfo tokenInfo) {
         this.userId = user.getId();
-        this.accessToken = token.getAccessToken();
-        this.refreshToken = token.getRefreshToken();
+        this.accessToken = tokenInfo.getAccessToken();
+        this.refreshToken = tokenInfo.getRefreshToken();
     }
 }
@@ -0,0 +1,24 @@
+package com.example.silverrock.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostUserImportRes {
+    private int total; // 읽은 행 수 (헤더 제외)
+    private int imported; // 등록에 성공한 행 수
+    private List<RowError> errors; // 실패한 행 (최대 1000건)
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line; // 파일 기준 행 번호 (1부터)
+        private String message;
+    }
+}
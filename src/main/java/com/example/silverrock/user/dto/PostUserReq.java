@@ -18,4 +18,6 @@ public class PostUserReq {
     private String introduce; // 한줄소개
     private String password;
     private String passwordChk; // 비밀번호 확인
+    private Double latitude; // 위도 (선택)
+    private Double longitude; // 경도 (선택)
 }
\ No newline at end of file
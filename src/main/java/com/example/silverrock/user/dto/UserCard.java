@@ -0,0 +1,60 @@
+package com.example.silverrock.user.dto;
+
+import lombok.Getter;
+
+/**
+ * 유저 카드 조회용 읽기 모델 (JPQL 생성자 프로젝션)
+ * 카드에 필요한 컬럼만 조회하며 영속성 컨텍스트에서 관리되지 않음
+ */
+@Getter
+public class UserCard {
+    private final Long matchingId; // 매칭 기준 조회일 때만 값이 있음
+    private final Long id;
+    private final String phoneNum;
+    private final String gender;
+    private final String nickname;
+    private final String birth;
+    private final String region;
+    private final String introduce;
+    private final String profileUrl;
+    private final String profileFileName;
+
+    public UserCard(Long id, String phoneNum, String gender, String nickname, String birth, String region,
+                    String introduce, String profileUrl, String profileFileName) {
+        this(null, id, phoneNum, gender, nickname, birth, region, introduce, profileUrl, profileFileName);
+    }
+
+    public UserCard(Long matchingId, Long id, String phoneNum, String gender, String nickname, String birth,
+                    String region, String introduce, String profileUrl, String profileFileName) {
+        this.matchingId = matchingId;
+        this.id = id;
+        this.phoneNum = phoneNum;
+        this.gender = gender;
+        this.nickname = nickname;
+        this.birth = birth;
+        this.region = region;
+        this.introduce = introduce;
+        this.profileUrl = profileUrl;
+        this.profileFileName = profileFileName;
+    }
+
+    public GetS3Res toGetS3Res() {
+        return new GetS3Res(profileUrl, profileFileName);
+    }
+
+    public GetNearUserRes toGetNearUserRes() {
+        return new GetNearUserRes(id, gender, nickname, birth, region, introduce, toGetS3Res());
+    }
+
+    public GetUserRes toGetUserRes() {
+        return new GetUserRes(phoneNum, gender, nickname, birth, region, introduce, toGetS3Res());
+    }
+
+    public GetUserInfoRes toGetUserInfoRes() {
+        return new GetUserInfoRes(phoneNum, gender, nickname, birth, region, introduce, toGetS3Res());
+    }
+
+    public ReceivedMatchingRes toReceivedMatchingRes() {
+        return new ReceivedMatchingRes(matchingId, gender, nickname, birth, region, introduce, toGetS3Res());
+    }
+}
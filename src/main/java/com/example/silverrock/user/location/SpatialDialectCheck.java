@@ -0,0 +1,30 @@
+package com.example.silverrock.user.location;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.spatial.SpatialDialect;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 기동 시 Hibernate 방언이 공간 타입을 지원하는지 확인
+ * UserLocation.location(POINT)은 spring.jpa.properties.hibernate.dialect=org.hibernate.spatial.dialect.mysql.MySQL8SpatialDialect 가
+ * 설정되어야 올바르게 매핑되므로, 설정이 빠지면 반경 검색이 실패하기 전에 기동을 멈춤
+ */
+@Component
+@RequiredArgsConstructor
+public class SpatialDialectCheck {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void check() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (!(dialect instanceof SpatialDialect)) {
+            throw new IllegalStateException("Hibernate dialect " + dialect.getClass().getName() + " has no spatial support "
+                    + "(set spring.jpa.properties.hibernate.dialect=org.hibernate.spatial.dialect.mysql.MySQL8SpatialDialect)");
+        }
+    }
+}
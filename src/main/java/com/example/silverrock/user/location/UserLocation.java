@@ -0,0 +1,38 @@
+package com.example.silverrock.user.location;
+
+import com.example.silverrock.global.BaseTimeEntity;
+import com.example.silverrock.user.User;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.locationtech.jts.geom.Point;
+
+import javax.persistence.*;
+
+/**
+ * 유저 위치 (SRID 4326, x=경도 y=위도)
+ * MySQL SPATIAL 인덱스는 NOT NULL 컬럼에만 걸 수 있으므로 위치를 등록한 유저만 행을 가짐
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+public class UserLocation extends BaseTimeEntity {
+    @Id
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false, columnDefinition = "POINT NOT NULL SRID 4326")
+    private Point location;
+
+    public UserLocation(User user, Point location) {
+        this.user = user;
+        this.location = location;
+    }
+
+    public void updateLocation(Point location) {
+        this.location = location;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.silverrock.user.location;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserLocationRepository extends JpaRepository<UserLocation, Long> {
+
+    // envelope(MBR)로 SPATIAL 인덱스를 타서 후보를 좁힌 뒤 실제 거리(m)로 반경 필터 및 정렬
+    @Query(value = "select l.user_id as userId, " +
+            "ST_Distance_Sphere(l.location, ST_GeomFromText(:center, 4326, 'axis-order=long-lat')) as distance " +
+            "from user_location l " +
+            "where MBRContains(ST_GeomFromText(:envelope, 4326, 'axis-order=long-lat'), l.location) " +
+            "and l.user_id <> :userId " +
+            "and ST_Distance_Sphere(l.location, ST_GeomFromText(:center, 4326, 'axis-order=long-lat')) <= :radius " +
+            "order by distance asc limit :size", nativeQuery = true)
+    List<NearUserDistance> findNearest(@Param("userId") Long userId, @Param("center") String center,
+                                       @Param("envelope") String envelope, @Param("radius") double radius,
+                                       @Param("size") int size);
+
+    interface NearUserDistance {
+        Long getUserId();
+        Double getDistance();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.silverrock.user.location;
+
+import com.example.silverrock.global.Response.BaseException;
+import com.example.silverrock.user.User;
+import com.example.silverrock.user.UserRepository;
+import com.example.silverrock.user.dto.GetRadiusUserRes;
+import com.example.silverrock.user.dto.UserCard;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.silverrock.global.Response.BaseResponseStatus.*;
+
+@Service
+@RequiredArgsConstructor
+public class UserLocationService {
+    private static final int SRID_WGS84 = 4326;
+    private static final double METERS_PER_DEGREE_LAT = 111_320d; // 위도 1도당 거리(m)
+    private static final double MAX_RADIUS = 50_000d; // 최대 검색 반경 50km
+    private static final int MAX_SIZE = 100;
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), SRID_WGS84);
+
+    private final UserLocationRepository userLocationRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 유저 위치 등록/수정
+     */
+    @Transactional
+    public void saveLocation(User user, Double latitude, Double longitude) throws BaseException {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        Point point = toPoint(latitude, longitude);
+        UserLocation userLocation = userLocationRepository.findById(user.getId()).orElse(null);
+        if (userLocation == null) {
+            userLocationRepository.save(new UserLocation(user, point));
+        } else {
+            userLocation.updateLocation(point);
+        }
+    }
+
+    /**
+     * 새로 만든 유저 위치 등록 (기존 행을 조회하지 않음, 일괄 등록용)
+     */
+    @Transactional
+    public void addLocation(User user, Double latitude, Double longitude) throws BaseException {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        userLocationRepository.save(new UserLocation(user, toPoint(latitude, longitude)));
+    }
+
+    /**
+     * 위도/경도 범위 확인
+     */
+    public static boolean isValidLocation(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * 반경(m) 이내에서 가까운 순으로 최대 size명 조회
+     */
+    @Transactional(readOnly = true)
+    public List<GetRadiusUserRes> getNearestUsers(Long userId, double radius, int size) throws BaseException {
+        Point center = userLocationRepository.findById(userId)
+                .map(UserLocation::getLocation)
+                .orElseThrow(() -> new BaseException(LOCATION_NOT_FOUND));
+        double searchRadius = Math.min(Math.max(radius, 1d), MAX_RADIUS);
+        int limit = Math.min(Math.max(size, 1), MAX_SIZE);
+
+        double lat = center.getY();
+        double lng = center.getX();
+        double dLat = searchRadius / METERS_PER_DEGREE_LAT;
+        double dLng = searchRadius / (METERS_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+
+        List<UserLocationRepository.NearUserDistance> nearest = userLocationRepository.findNearest(
+                userId, toWkt(lng, lat), envelopeWkt(lng - dLng, lat - dLat, lng + dLng, lat + dLat), searchRadius, limit);
+        if (nearest.isEmpty()) {
+            throw new BaseException(NONE_NEAR);
+        }
+
+        Map<Long, UserCard> cards = userRepository.findCardsByIdIn(nearest.stream()
+                        .map(UserLocationRepository.NearUserDistance::getUserId).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(UserCard::getId, Function.identity()));
+
+        // 거리 순서 유지
+        return nearest.stream()
+                .filter(n -> cards.containsKey(n.getUserId()))
+                .map(n -> {
+                    UserCard card = cards.get(n.getUserId());
+                    return new GetRadiusUserRes(card.getId(), card.getGender(), card.getNickname(), card.getBirth(),
+                            card.getRegion(), card.getIntroduce(), card.toGetS3Res(), n.getDistance());
+                }).collect(Collectors.toList());
+    }
+
+    private Point toPoint(double latitude, double longitude) throws BaseException {
+        if (!isValidLocation(latitude, longitude)) {
+            throw new BaseException(INVALID_LOCATION);
+        }
+        return GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+    }
+
+    private static String toWkt(double lng, double lat) {
+        return "POINT(" + lng + " " + lat + ")";
+    }
+
+    private static String envelopeWkt(double minLng, double minLat, double maxLng, double maxLat) {
+        return "POLYGON((" + minLng + " " + minLat + ", " + maxLng + " " + minLat + ", " + maxLng + " " + maxLat + ", "
+                + minLng + " " + maxLat + ", " + minLng + " " + minLat + "))";
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.silverrock.user.nickname;
+
+import com.example.silverrock.global.BloomFilter;
+import com.example.silverrock.global.TransactionHooks;
+import com.example.silverrock.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 사용 중인 닉네임 Bloom filter + Redis 닉네임 선점
+ * filter 에 없으면 DB 조회 없이 사용 가능으로 판단하고, 있을 수도 있으면 DB로 확인
+ * 새로 등록된 닉네임은 pub/sub(nickname:registered)으로 모든 노드의 filter에 반영
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NicknameRegistry {
+    private static final String RESERVE_PREFIX = "nickname:reserve:";
+    private static final String CHANNEL = "nickname:registered";
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+    private static final long MIN_CAPACITY = 100_000L;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // 선점한 본인일 때만 삭제
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end", Long.class);
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${nickname.reserve.ttl-seconds:300}")
+    private long reserveTtlSeconds;
+
+    private volatile BloomFilter takenNicknames; // 적재 전에는 null
+    private volatile BloomFilter rebuilding; // 적재 중 등록된 닉네임도 놓치지 않도록 함께 기록
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> remember(new String(message.getBody(), StandardCharsets.UTF_8)), new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 기동 시 전체 닉네임으로 filter 생성 (가입자 수의 2배 크기로 잡아 증가분 흡수)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        BloomFilter filter = new BloomFilter(Math.max(userRepository.count() * 2, MIN_CAPACITY), FALSE_POSITIVE_RATE);
+        rebuilding = filter;
+        long cursor = 0L;
+        while (true) {
+            List<Object[]> rows = userRepository.findIdAndNicknameAfter(cursor, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                filter.put((String) row[1]);
+                cursor = (Long) row[0];
+            }
+        }
+        takenNicknames = filter;
+        rebuilding = null;
+        log.info("Nickname filter built");
+    }
+
+    /**
+     * 닉네임 사용 가능 여부 (다른 사람이 선점 중이거나 이미 사용 중이면 false)
+     */
+    public boolean isAvailable(String nickname) {
+        if (isReservedByOther(nickname, null)) {
+            return false;
+        }
+        BloomFilter filter = takenNicknames;
+        if (filter != null && !filter.mightContain(nickname)) {
+            return true; // 확실히 사용되지 않은 닉네임
+        }
+        return !userRepository.existsByNickname(nickname);
+    }
+
+    /**
+     * 닉네임 선점 (owner가 같으면 재시도로 보고 허용)
+     * 트랜잭션이 롤백되면 선점 해제, Redis 장애 시에는 DB 확인에 맡김
+     */
+    public boolean reserve(String nickname, String owner) {
+        try {
+            Boolean reserved = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(RESERVE_PREFIX + nickname, owner, Duration.ofSeconds(reserveTtlSeconds));
+            if (!Boolean.TRUE.equals(reserved) && isReservedByOther(nickname, owner)) {
+                return false;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Nickname reservation failed for {}", nickname, e);
+            return true;
+        }
+        TransactionHooks.afterRollback(() -> release(nickname, owner));
+        return true;
+    }
+
+    public void release(String nickname, String owner) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(RESERVE_PREFIX + nickname), owner);
+        } catch (DataAccessException e) {
+            log.warn("Nickname release failed for {}", nickname, e);
+        }
+    }
+
+    /**
+     * 가입/변경된 닉네임을 이 노드와 다른 노드의 filter에 반영 (트랜잭션 커밋 이후)
+     */
+    public void register(String nickname) {
+        TransactionHooks.afterCommit(() -> {
+            remember(nickname);
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL, nickname);
+            } catch (DataAccessException e) {
+                log.warn("Nickname registration broadcast failed for {}", nickname, e);
+            }
+        });
+    }
+
+    private void remember(String nickname) {
+        BloomFilter filter = takenNicknames;
+        if (filter != null) {
+            filter.put(nickname);
+        }
+        BloomFilter building = rebuilding;
+        if (building != null) {
+            building.put(nickname);
+        }
+    }
+
+    private boolean isReservedByOther(String nickname, String owner) {
+        try {
+            String holder = stringRedisTemplate.opsForValue().get(RESERVE_PREFIX + nickname);
+            return holder != null && !holder.equals(owner);
+        } catch (DataAccessException e) {
+            log.warn("Nickname reservation lookup failed for {}", nickname, e);
+            return false;
+        }
+    }
+}
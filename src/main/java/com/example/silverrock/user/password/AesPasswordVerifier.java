@@ -0,0 +1,39 @@
+package com.example.silverrock.user.password;
+
+import com.example.silverrock.global.AesCipherEngine;
+import com.example.silverrock.global.Response.BaseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import static com.example.silverrock.global.Response.BaseResponseStatus.PASSWORD_ENCRYPTION_ERROR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 기존 AES 저장 방식용 비밀번호 확인
+ * IV가 고정이라 같은 평문은 항상 같은 암호문 -> 저장값을 복호화하지 않고 입력값을 암호화해서 비교
+ */
+@Component
+@RequiredArgsConstructor
+public class AesPasswordVerifier implements PasswordVerifier {
+    private final AesCipherEngine aesCipherEngine;
+
+    @Override
+    public String encode(String rawPassword) throws BaseException {
+        try {
+            return aesCipherEngine.encrypt(rawPassword);
+        } catch (GeneralSecurityException e) {
+            throw new BaseException(PASSWORD_ENCRYPTION_ERROR);
+        }
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) throws BaseException {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(encode(rawPassword).getBytes(UTF_8), encodedPassword.getBytes(UTF_8));
+    }
+}
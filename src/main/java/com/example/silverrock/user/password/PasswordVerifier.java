@@ -0,0 +1,19 @@
+package com.example.silverrock.user.password;
+
+import com.example.silverrock.global.Response.BaseException;
+
+/**
+ * 비밀번호 저장/확인 방식 (구현체를 바꿔 해시 방식 등으로 교체 가능)
+ */
+public interface PasswordVerifier {
+
+    /**
+     * 저장할 형태로 변환
+     */
+    String encode(String rawPassword) throws BaseException;
+
+    /**
+     * 입력한 비밀번호가 저장된 값과 같은지 상수 시간으로 비교
+     */
+    boolean matches(String rawPassword, String encodedPassword) throws BaseException;
+}
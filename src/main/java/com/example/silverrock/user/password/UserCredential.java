@@ -0,0 +1,10 @@
+package com.example.silverrock.user.password;
+
+/**
+ * 로그인 확인에 필요한 컬럼만 조회하는 projection
+ */
+public interface UserCredential {
+    Long getId();
+
+    String getPassword();
+}
@@ -0,0 +1,281 @@
+package com.example.silverrock.user.recommend;
+
+import com.example.silverrock.global.BatchLock;
+import com.example.silverrock.matching.repository.FriendshipRepository;
+import com.example.silverrock.matching.repository.MatchingRequestRepository;
+import com.example.silverrock.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 같은 지역 유저 중 추천 상위 N명을 주기적으로 계산해 user_recommendation 에 저장
+ * 점수 = 나이 근접도 + 성별 선호(보낸 매칭 요청의 상대 성별 비율) + 함께 아는 친구 수 + 최근 활동(수정일 기준)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationBatch {
+    private static final int TOP_N = 50; // 유저별 저장할 추천 수
+    private static final int CANDIDATE_POOL = 500; // 유저별로 나이가 가까운 순서로 살펴볼 후보 수
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    private static final double AGE_WEIGHT = 0.35;
+    private static final double GENDER_WEIGHT = 0.2;
+    private static final double MUTUAL_WEIGHT = 0.25;
+    private static final double RECENCY_WEIGHT = 0.2;
+    private static final double AGE_RANGE = 20d; // 20년 이상 차이나면 나이 점수 0
+    private static final int MUTUAL_CAP = 5; // 함께 아는 친구 5명 이상이면 만점
+    private static final double RECENCY_HALF_DAYS = 7d;
+    private static final long[] EMPTY = new long[0];
+    private static final String LOCK_NAME = "recommendation";
+
+    private final UserRepository userRepository;
+    private final MatchingRequestRepository matchingRequestRepository;
+    private final FriendshipRepository friendshipRepository;
+    private final UserRecommendationRepository userRecommendationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchLock batchLock;
+
+    @Value("${recommend.batch.lock-lease-ms:7200000}")
+    private long lockLeaseMillis; // 배치 최대 예상 소요 시간 (노드가 죽으면 이 시간 뒤 다른 노드가 실행)
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Scheduled(initialDelayString = "${recommend.batch.initial-delay-ms:60000}",
+            fixedDelayString = "${recommend.batch.fixed-delay-ms:3600000}")
+    public void run() {
+        // 여러 노드가 같은 (user_id, ranking)을 동시에 지우고 쓰지 않도록 한 노드만 실행
+        batchLock.runExclusively(LOCK_NAME, Duration.ofMillis(lockLeaseMillis), this::rankAll);
+    }
+
+    private void rankAll() {
+        long started = System.currentTimeMillis();
+        Map<String, List<Member>> membersByRegion = loadMembers();
+        History history = loadHistory();
+        LocalDateTime now = LocalDateTime.now();
+
+        int users = 0;
+        int failed = 0;
+        for (List<Member> members : membersByRegion.values()) {
+            members.sort(Comparator.comparingInt(m -> m.birthYear));
+            for (int i = 0; i < members.size(); i++) {
+                Member me = members.get(i);
+                try {
+                    List<UserRecommendation> ranked = rank(me, i, members, history, now, started);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userRecommendationRepository.deleteByUserId(me.id);
+                        ranked.forEach(entityManager::persist); // 복합키 엔티티라 save()의 merge 대신 persist
+                    });
+                    users++;
+                } catch (RuntimeException e) { // 한 유저의 실패로 나머지 유저의 추천이 멈추지 않도록
+                    failed++;
+                    log.warn("Recommendation batch failed for user {}", me.id, e);
+                }
+            }
+        }
+        log.info("Recommendation batch finished: {} users, {} failed in {} ms", users, failed, System.currentTimeMillis() - started);
+    }
+
+    private List<UserRecommendation> rank(Member me, int position, List<Member> members, History history, LocalDateTime now, long generation) {
+        PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(s -> s.score));
+        long[] myFriends = history.friends.getOrDefault(me.id, EMPTY);
+        long[] mySent = history.sent.getOrDefault(me.id, EMPTY);
+        long[] myReceived = history.received.getOrDefault(me.id, EMPTY);
+        Map<String, Integer> genderCounts = history.sentGenders.get(me.id);
+        int sentTotal = (genderCounts == null) ? 0 : genderCounts.values().stream().mapToInt(Integer::intValue).sum();
+
+        // 나이순으로 정렬된 목록에서 내 위치 양옆으로 나이가 가까운 후보부터 확인
+        int lo = position - 1;
+        int hi = position + 1;
+        int examined = 0;
+        while (examined < CANDIDATE_POOL && (lo >= 0 || hi < members.size())) {
+            Member candidate;
+            if (lo < 0) {
+                candidate = members.get(hi++);
+            } else if (hi >= members.size()) {
+                candidate = members.get(lo--);
+            } else if (Math.abs(members.get(lo).birthYear - me.birthYear) <= Math.abs(members.get(hi).birthYear - me.birthYear)) {
+                candidate = members.get(lo--);
+            } else {
+                candidate = members.get(hi++);
+            }
+            examined++;
+            if (Arrays.binarySearch(myFriends, candidate.id) >= 0 || Arrays.binarySearch(mySent, candidate.id) >= 0
+                    || Arrays.binarySearch(myReceived, candidate.id) >= 0) {
+                continue; // 이미 친구이거나 요청을 주고받은 유저는 제외
+            }
+
+            double age = (me.birthYear < 0 || candidate.birthYear < 0) ? 0.5
+                    : Math.max(0d, 1d - Math.abs(me.birthYear - candidate.birthYear) / AGE_RANGE);
+            double gender = (sentTotal == 0) ? 0.5
+                    : genderCounts.getOrDefault(candidate.gender, 0) / (double) sentTotal;
+            double mutual = Math.min(countCommon(myFriends, history.friends.getOrDefault(candidate.id, EMPTY)), MUTUAL_CAP) / (double) MUTUAL_CAP;
+            double recency = (candidate.modifiedDate == null) ? 0d
+                    : 1d / (1d + Math.max(0, Duration.between(candidate.modifiedDate, now).toDays()) / RECENCY_HALF_DAYS);
+            double score = AGE_WEIGHT * age + GENDER_WEIGHT * gender + MUTUAL_WEIGHT * mutual + RECENCY_WEIGHT * recency;
+
+            if (top.size() < TOP_N) {
+                top.add(new Scored(candidate.id, score));
+            } else if (top.peek().score < score) {
+                top.poll();
+                top.add(new Scored(candidate.id, score));
+            }
+        }
+
+        List<Scored> sorted = new ArrayList<>(top);
+        sorted.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed());
+        List<UserRecommendation> ranked = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            ranked.add(new UserRecommendation(me.id, i + 1, sorted.get(i).candidateId, sorted.get(i).score, generation));
+        }
+        return ranked;
+    }
+
+    private Map<String, List<Member>> loadMembers() {
+        Map<String, List<Member>> membersByRegion = new HashMap<>();
+        long cursor = 0L;
+        while (true) {
+            List<Object[]> rows = userRepository.findRecommendationSourceAfter(cursor, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                return membersByRegion;
+            }
+            for (Object[] row : rows) {
+                Member member = new Member((Long) row[0], (String) row[2], parseBirthYear((String) row[3]), (LocalDateTime) row[4]);
+                membersByRegion.computeIfAbsent((String) row[1], r -> new ArrayList<>()).add(member);
+                cursor = member.id;
+            }
+        }
+    }
+
+    private History loadHistory() {
+        Map<Long, List<Long>> sent = new HashMap<>();
+        Map<Long, List<Long>> received = new HashMap<>();
+        Map<Long, Map<String, Integer>> sentGenders = new HashMap<>();
+        long cursor = 0L;
+        while (true) {
+            List<Object[]> rows = matchingRequestRepository.findHistoryAfter(cursor, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                Long senderId = (Long) row[1];
+                Long receiverId = (Long) row[2];
+                String receiverGender = (String) row[3];
+                boolean success = (Boolean) row[4];
+                if (!success) {
+                    sent.computeIfAbsent(senderId, id -> new ArrayList<>()).add(receiverId);
+                    received.computeIfAbsent(receiverId, id -> new ArrayList<>()).add(senderId);
+                }
+                sentGenders.computeIfAbsent(senderId, id -> new HashMap<>()).merge(receiverGender, 1, Integer::sum);
+                cursor = (Long) row[0];
+            }
+        }
+        return new History(loadFriends(), toSortedArrays(sent), toSortedArrays(received), sentGenders);
+    }
+
+    // 친구 관계 테이블을 PK 순으로 읽어 유저별 정렬된 친구 id 배열 생성
+    private Map<Long, long[]> loadFriends() {
+        Map<Long, List<Long>> friends = new HashMap<>();
+        long userCursor = 0L;
+        long friendCursor = 0L;
+        while (true) {
+            List<Object[]> rows = friendshipRepository.findPairsAfter(userCursor, friendCursor, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                return toSortedArrays(friends);
+            }
+            for (Object[] row : rows) {
+                userCursor = (Long) row[0];
+                friendCursor = (Long) row[1];
+                friends.computeIfAbsent(userCursor, id -> new ArrayList<>()).add(friendCursor);
+            }
+        }
+    }
+
+    private static Map<Long, long[]> toSortedArrays(Map<Long, List<Long>> lists) {
+        Map<Long, long[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((id, list) -> {
+            long[] array = list.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            arrays.put(id, array);
+        });
+        return arrays;
+    }
+
+    // 정렬된 두 배열의 공통 원소 수
+    private static int countCommon(long[] a, long[] b) {
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    // 생년 문자열 앞 4자리를 연도로 사용, 알 수 없으면 -1
+    private static int parseBirthYear(String birth) {
+        if (birth == null || birth.length() < 4) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(birth.substring(0, 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static class Member {
+        final long id;
+        final String gender;
+        final int birthYear;
+        final LocalDateTime modifiedDate;
+
+        Member(long id, String gender, int birthYear, LocalDateTime modifiedDate) {
+            this.id = id;
+            this.gender = gender;
+            this.birthYear = birthYear;
+            this.modifiedDate = modifiedDate;
+        }
+    }
+
+    private static class Scored {
+        final long candidateId;
+        final double score;
+
+        Scored(long candidateId, double score) {
+            this.candidateId = candidateId;
+            this.score = score;
+        }
+    }
+
+    private static class History {
+        final Map<Long, long[]> friends; // 친구 관계 테이블의 친구 id
+        final Map<Long, long[]> sent; // 대기 중인 보낸 요청의 상대 id
+        final Map<Long, long[]> received; // 대기 중인 받은 요청의 상대 id
+        final Map<Long, Map<String, Integer>> sentGenders; // 보낸 요청 상대의 성별별 횟수
+
+        History(Map<Long, long[]> friends, Map<Long, long[]> sent, Map<Long, long[]> received, Map<Long, Map<String, Integer>> sentGenders) {
+            this.friends = friends;
+            this.sent = sent;
+            this.received = received;
+            this.sentGenders = sentGenders;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.silverrock.user.recommend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * 유저별 추천 상위 N명 (배치로 미리 계산)
+ * PK (user_id, ranking) 으로 한 유저의 추천 목록을 순위 순으로 인덱스 범위 조회
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(UserRecommendation.Key.class)
+public class UserRecommendation {
+    @Id
+    @Column(name = "user_id")
+    private Long userId; // 추천을 받는 유저
+
+    @Id
+    private Integer ranking; // 1부터 시작하는 순위
+
+    @Column(nullable = false)
+    private Long candidateId; // 추천 대상 유저
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private Long generation; // 이 목록을 쓴 배치 실행의 시작 시각(ms), 목록이 다시 쓰이면 바뀜
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Integer ranking;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return userId.equals(key.userId) && ranking.equals(key.ranking);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * userId.hashCode() + ranking.hashCode();
+        }
+    }
+}
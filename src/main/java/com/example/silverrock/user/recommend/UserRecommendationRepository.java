@@ -0,0 +1,28 @@
+package com.example.silverrock.user.recommend;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserRecommendationRepository extends JpaRepository<UserRecommendation, UserRecommendation.Key> {
+    @Query("select r from UserRecommendation r where r.userId = :userId and r.ranking > :cursor order by r.ranking asc")
+    List<UserRecommendation> findRankedAfter(@Param("userId") Long userId, @Param("cursor") Integer cursor, Pageable pageable);
+
+    // 조건부 GET용 추천 목록 버전 (배치가 목록을 쓴 세대, 목록이 없으면 null)
+    @Query("select max(r.generation) from UserRecommendation r where r.userId = :userId")
+    Long findGenerationByUserId(@Param("userId") Long userId);
+
+    // 추천 목록에 나온 유저 id (id 순 목록에서 중복 제외용)
+    @Query("select r.candidateId from UserRecommendation r where r.userId = :userId")
+    List<Long> findCandidateIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from UserRecommendation r where r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,155 @@
+package com.example.silverrock.user.region;
+
+import com.example.silverrock.global.TransactionHooks;
+import com.example.silverrock.user.dto.GetNearUserRes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 지역별 근처 친구 카드 캐시 (Redis hash: near:region:{region} -> userId : 카드 JSON)
+ * 지역 목록 버전 (Redis near:version:{region}), 가입/지역 변경/카드 변경 시 증가해 조건부 GET ETag에 사용
+ * Redis 장애 시에는 캐시 미스로 취급하여 DB에서 조회
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearUserCardCache {
+    private static final String KEY_PREFIX = "near:region:";
+    private static final String VERSION_PREFIX = "near:version:";
+
+    // KEYS: 카드 hash, 지역 버전 / ARGV: 기대하는 버전, TTL(초), (userId, 카드 JSON)...
+    // 버전이 바뀌었으면 버리고, TTL은 hash를 새로 만들 때만 설정 (자주 조회되는 지역도 TTL 뒤에는 다시 적재)
+    private static final DefaultRedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[2]) ~= ARGV[1] then return 0 end " +
+            "local created = redis.call('exists', KEYS[1]) == 0 " +
+            "for i = 3, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "if created then redis.call('expire', KEYS[1], ARGV[2]) end " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${near.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    /**
+     * ids 중 캐시에 있는 카드만 반환
+     */
+    public Map<Long, GetNearUserRes> getCards(String region, long[] ids) {
+        Map<Long, GetNearUserRes> cards = new HashMap<>();
+        if (ids.length == 0) {
+            return cards;
+        }
+        List<Object> fields = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            fields.add(Long.toString(id));
+        }
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(KEY_PREFIX + region, fields);
+            for (int i = 0; i < ids.length; i++) {
+                Object value = values.get(i);
+                if (value != null) {
+                    cards.put(ids[i], objectMapper.readValue((String) value, GetNearUserRes.class));
+                }
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Near card cache read failed for region {}", region, e);
+        }
+        return cards;
+    }
+
+    /**
+     * DB에서 읽은 카드 적재, DB 조회 전에 읽은 지역 버전(version)이 그대로일 때만 반영
+     * 그 사이 evict가 있었다면 읽은 카드가 이전 값일 수 있으므로 버림
+     */
+    public void putCards(String region, Collection<GetNearUserRes> cards, String version) {
+        if (cards.isEmpty() || version == null) {
+            return;
+        }
+        try {
+            List<String> args = new ArrayList<>(cards.size() * 2 + 2);
+            args.add(version);
+            args.add(Long.toString(ttlSeconds));
+            for (GetNearUserRes card : cards) {
+                args.add(card.getId().toString());
+                args.add(objectMapper.writeValueAsString(card));
+            }
+            stringRedisTemplate.execute(PUT_SCRIPT, Arrays.asList(KEY_PREFIX + region, VERSION_PREFIX + region), args.toArray());
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Near card cache write failed for region {}", region, e);
+        }
+    }
+
+    /**
+     * 유저 정보가 바뀐 지역의 카드 무효화 + 지역 버전 증가 (트랜잭션 커밋 이후 반영)
+     */
+    public void evict(Long userId, String... regions) {
+        Runnable action = () -> {
+            for (String region : regions) {
+                if (region == null) {
+                    continue;
+                }
+                try {
+                    increaseVersion(region); // 먼저 올려야 그 사이 이전 값을 읽은 putCards가 반영되지 않음
+                    stringRedisTemplate.opsForHash().delete(KEY_PREFIX + region, userId.toString());
+                } catch (DataAccessException e) {
+                    log.warn("Near card cache evict failed for user {} in region {}", userId, region, e);
+                }
+            }
+        };
+        TransactionHooks.afterCommit(action);
+    }
+
+    /**
+     * 카드는 그대로 두고 지역 버전만 증가 (일괄 가입 등, 트랜잭션 커밋 이후 반영)
+     */
+    public void touch(Collection<String> regions) {
+        TransactionHooks.afterCommit(() -> {
+            for (String region : regions) {
+                try {
+                    increaseVersion(region);
+                } catch (DataAccessException e) {
+                    log.warn("Near region version update failed for region {}", region, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 지역 목록 버전, Redis를 쓸 수 없으면 null (조건부 GET 생략)
+     */
+    public String regionVersion(String region) {
+        String key = VERSION_PREFIX + region;
+        try {
+            String version = stringRedisTemplate.opsForValue().get(key);
+            if (version == null) {
+                initVersion(key);
+                version = stringRedisTemplate.opsForValue().get(key);
+            }
+            return version;
+        } catch (DataAccessException e) {
+            log.warn("Near region version read failed for region {}", region, e);
+            return null;
+        }
+    }
+
+    private void increaseVersion(String region) {
+        String key = VERSION_PREFIX + region;
+        initVersion(key);
+        stringRedisTemplate.opsForValue().increment(key);
+    }
+
+    // 키가 사라졌다가 다시 생겨도 예전 ETag와 겹치지 않도록 현재 시각부터 시작
+    private void initVersion(String key) {
+        stringRedisTemplate.opsForValue().setIfAbsent(key, Long.toString(System.currentTimeMillis()));
+    }
+}
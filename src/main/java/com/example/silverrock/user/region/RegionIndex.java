@@ -0,0 +1,194 @@
+package com.example.silverrock.user.region;
+
+import com.example.silverrock.global.TransactionHooks;
+import com.example.silverrock.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지역(시/군/구) -> 유저 id 정렬 배열 인덱스 (노드별 메모리 상주)
+ * 배열은 교체 방식(copy-on-write)으로만 갱신되므로 조회 시 락이 필요 없음
+ * 유저별 지역은 따로 들고 있지 않고 지역 배열을 이분 탐색해 찾음 (지역 수만큼, 유저 수와 무관한 메모리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegionIndex {
+    private static final long[] EMPTY = new long[0];
+    private static final int LOAD_CHUNK_SIZE = 10_000; // 기동 시 한 번에 읽어오는 유저 수
+
+    private final UserRepository userRepository;
+
+    private final Map<String, long[]> idsByRegion = new ConcurrentHashMap<>();
+    private volatile Map<Long, String> changedDuringBuild = new ConcurrentHashMap<>(); // 적재 중 반영된 가입/변경 (적재가 끝나면 null)
+    private volatile boolean ready = false;
+
+    /**
+     * 기동 시 전체 유저의 (id, region)을 id 순으로 나눠 읽어 인덱스 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        Map<String, LongArrayBuilder> builders = new HashMap<>();
+        long cursor = 0L;
+        int loaded = 0;
+        while (true) {
+            List<Object[]> rows = userRepository.findIdAndRegionAfter(cursor, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                String region = ((String) row[1]).intern();
+                builders.computeIfAbsent(region, r -> new LongArrayBuilder()).add(id); // id 오름차순으로 들어오므로 정렬 유지
+                cursor = id;
+            }
+            loaded += rows.size();
+        }
+        // 적재 중 먼저 반영된 지역 변경이 우선이므로, 다른 지역으로 기록된 id는 적재 결과에서 제외
+        // (필터를 compute 안에서 해야 같은 지역에 대한 move의 제거와 순서가 맞음)
+        Map<Long, String> changed = changedDuringBuild;
+        builders.forEach((region, builder) -> idsByRegion.compute(region, (r, ids) -> {
+            long[] loadedIds = Arrays.stream(builder.toArray()).filter(id -> {
+                String changedRegion = changed.get(id);
+                return changedRegion == null || changedRegion.equals(region);
+            }).toArray();
+            long[] merged = union(ids == null ? EMPTY : ids, loadedIds);
+            return merged.length == 0 ? null : merged;
+        }));
+        changedDuringBuild = null; // 이후 변경은 배열에만 반영
+        ready = true;
+        log.info("RegionIndex built: {} users in {} regions", loaded, idsByRegion.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 유저의 지역 (지역마다 이분 탐색, 없으면 null)
+     */
+    public String regionOf(Long userId) {
+        for (Map.Entry<String, long[]> entry : idsByRegion.entrySet()) {
+            if (Arrays.binarySearch(entry.getValue(), userId) >= 0) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * region에서 after보다 큰 id를 오름차순으로 최대 limit개 반환 (excludeId는 제외)
+     */
+    public long[] idsAfter(String region, long excludeId, long after, int limit) {
+        long[] ids = idsByRegion.getOrDefault(region, EMPTY);
+        int idx = Arrays.binarySearch(ids, after);
+        int start = (idx >= 0) ? idx + 1 : -idx - 1;
+
+        long[] page = new long[Math.min(limit, ids.length - start)];
+        int count = 0;
+        for (int i = start; i < ids.length && count < page.length; i++) {
+            if (ids[i] != excludeId) {
+                page[count++] = ids[i];
+            }
+        }
+        return (count == page.length) ? page : Arrays.copyOf(page, count);
+    }
+
+    /**
+     * 신규 가입 유저 등록 (트랜잭션 커밋 이후 반영)
+     */
+    public void add(Long userId, String region) {
+        TransactionHooks.afterCommit(() -> {
+            String interned = region.intern();
+            recordDuringBuild(userId, interned);
+            idsByRegion.compute(interned, (r, ids) -> insert(ids == null ? EMPTY : ids, userId));
+        });
+    }
+
+    /**
+     * 지역 변경 반영 (트랜잭션 커밋 이후 반영)
+     */
+    public void move(Long userId, String oldRegion, String newRegion) {
+        if (oldRegion != null && oldRegion.equals(newRegion)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            String interned = newRegion.intern();
+            recordDuringBuild(userId, interned); // 이전 지역에서 빼기 전에 기록해야 적재 결과 병합이 다시 넣지 않음
+            if (oldRegion != null) {
+                idsByRegion.computeIfPresent(oldRegion, (r, ids) -> remove(ids, userId));
+            }
+            idsByRegion.compute(interned, (r, ids) -> insert(ids == null ? EMPTY : ids, userId));
+        });
+    }
+
+    // 적재 중이면 최종 지역을 기록 (적재 결과 병합 시 다른 지역으로 옮긴 id를 걸러냄)
+    private void recordDuringBuild(Long userId, String region) {
+        Map<Long, String> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.put(userId, region);
+        }
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int idx = Arrays.binarySearch(ids, id);
+        if (idx >= 0) {
+            return ids;
+        }
+        int pos = -idx - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, pos);
+        result[pos] = id;
+        System.arraycopy(ids, pos, result, pos + 1, ids.length - pos);
+        return result;
+    }
+
+    private static long[] remove(long[] ids, long id) {
+        int idx = Arrays.binarySearch(ids, id);
+        if (idx < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null; // 빈 지역은 맵에서 제거
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, idx);
+        System.arraycopy(ids, idx + 1, result, idx, ids.length - idx - 1);
+        return result;
+    }
+
+    // 기동 중 먼저 반영된 가입/변경분과 적재 결과를 합침
+    private static long[] union(long[] a, long[] b) {
+        long[] result = (a.length >= b.length) ? a : b;
+        for (long id : (a.length >= b.length) ? b : a) {
+            result = insert(result, id);
+        }
+        return result;
+    }
+
+    private static class LongArrayBuilder {
+        private long[] values = new long[16];
+        private int size = 0;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+-- 스키마 기준선: 기존(ddl-auto로 생성된) DB에서는 아무것도 바꾸지 않도록 IF NOT EXISTS 로 작성
+
+CREATE TABLE IF NOT EXISTS `user` (
+    id            BIGINT       NOT NULL,
+    phone_num     VARCHAR(255) NOT NULL,
+    gender        VARCHAR(255) NOT NULL,
+    nickname      VARCHAR(255) NOT NULL,
+    birth         VARCHAR(255) NOT NULL,
+    region        VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    introduce     VARCHAR(255) NOT NULL,
+    create_date   DATETIME(6),
+    modified_date DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO user_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM user_seq);
+
+CREATE TABLE IF NOT EXISTS profile (
+    profile_id        BIGINT NOT NULL AUTO_INCREMENT,
+    profile_url       VARCHAR(255),
+    profile_file_name VARCHAR(255),
+    user_id           BIGINT,
+    create_date       DATETIME(6),
+    modified_date     DATETIME(6),
+    PRIMARY KEY (profile_id),
+    UNIQUE KEY uk_profile_user_id (user_id),
+    CONSTRAINT fk_profile_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS matching (
+    matching_id   BIGINT NOT NULL AUTO_INCREMENT,
+    sender_id     BIGINT NOT NULL,
+    receiver_id   BIGINT NOT NULL,
+    success       BIT    NOT NULL,
+    create_date   DATETIME(6),
+    modified_date DATETIME(6),
+    PRIMARY KEY (matching_id),
+    CONSTRAINT fk_matching_sender FOREIGN KEY (sender_id) REFERENCES `user` (id),
+    CONSTRAINT fk_matching_receiver FOREIGN KEY (receiver_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_location (
+    user_id       BIGINT NOT NULL,
+    location      POINT  NOT NULL SRID 4326,
+    create_date   DATETIME(6),
+    modified_date DATETIME(6),
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_location_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_recommendation (
+    user_id      BIGINT  NOT NULL,
+    ranking      INTEGER NOT NULL,
+    candidate_id BIGINT  NOT NULL,
+    score        DOUBLE  NOT NULL,
+    PRIMARY KEY (user_id, ranking)
+) ENGINE = InnoDB;
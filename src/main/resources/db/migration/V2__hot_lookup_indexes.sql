@@ -0,0 +1,41 @@
+-- 기존 중복 정리: 예전 앱은 유일성을 확인하지 않았으므로, 같은 휴대폰번호/닉네임이면 가장 먼저 가입한(id가 작은) 유저만 그대로 두고
+-- 나머지는 값 뒤에 #id를 붙임 (매칭/프로필이 참조하므로 행은 지우지 않음, 닉네임은 본인이 바꿀 수 있고 휴대폰번호가 겹친 계정은 지금도 로그인되지 않음)
+UPDATE `user` u
+JOIN `user` k ON k.phone_num = u.phone_num AND k.id < u.id
+SET u.phone_num = CONCAT(u.phone_num, '#', u.id);
+
+UPDATE `user` u
+JOIN `user` k ON k.nickname = u.nickname AND k.id < u.id
+SET u.nickname = CONCAT(u.nickname, '#', u.id);
+
+-- 로그인/가입 확인: findCredentialByPhoneNum, existsByNickname
+ALTER TABLE `user`
+    ADD UNIQUE KEY uk_user_phone_num (phone_num),
+    ADD UNIQUE KEY uk_user_nickname (nickname),
+    -- 근처 친구: region = ? and id > ? order by id (keyset)
+    ADD KEY idx_user_region_id (region, id);
+
+-- 받은 요청/친구 목록: receiver_id = ? and success = ? and matching_id > ? order by matching_id
+-- 보낸 요청/중복 확인: sender_id = ? (and receiver_id = ?) and success = ?
+ALTER TABLE matching
+    ADD KEY idx_matching_receiver_success (receiver_id, success, matching_id),
+    ADD KEY idx_matching_sender_success (sender_id, success, matching_id);
+
+-- 반경 검색 (MBRContains), 기존 DB에는 기동 시 초기화 코드로 이미 만들어졌을 수 있음
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'user_location'
+                 AND index_name = 'idx_user_location_location') = 0,
+              'CREATE SPATIAL INDEX idx_user_location_location ON user_location (location)',
+              'SELECT 1');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- IDENTITY 로 생성된 기존 유저 id 이후부터 시퀀스 할당
+-- pooled 옵티마이저(allocationSize = 50)는 처음 읽은 값 v 로 [v-49 .. v] 를 나눠주므로 MAX(id) 보다 한 블록 뒤로 설정
+UPDATE user_seq
+SET next_val = (SELECT COALESCE(MAX(id), 0) + 50 FROM `user`)
+WHERE next_val < (SELECT COALESCE(MAX(id), 0) + 50 FROM `user`);
+
+-- 세션은 Redis(token:access:{sha256} 역색인)로 옮겨져 더 이상 쓰지 않음
+DROP TABLE IF EXISTS token;
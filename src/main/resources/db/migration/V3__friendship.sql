@@ -0,0 +1,17 @@
+-- 수락된 친구 관계 (양방향 두 행), 친구 목록/친구 여부 확인을 PK 범위 조회로
+CREATE TABLE friendship (
+    user_id     BIGINT      NOT NULL,
+    friend_id   BIGINT      NOT NULL,
+    matching_id BIGINT      NOT NULL,
+    create_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, friend_id),
+    CONSTRAINT fk_friendship_user FOREIGN KEY (user_id) REFERENCES `user` (id),
+    CONSTRAINT fk_friendship_friend FOREIGN KEY (friend_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+-- 기존에 수락된 매칭으로 채움
+INSERT IGNORE INTO friendship (user_id, friend_id, matching_id, create_date)
+SELECT sender_id, receiver_id, matching_id, COALESCE(modified_date, NOW(6)) FROM matching WHERE success = TRUE;
+
+INSERT IGNORE INTO friendship (user_id, friend_id, matching_id, create_date)
+SELECT receiver_id, sender_id, matching_id, COALESCE(modified_date, NOW(6)) FROM matching WHERE success = TRUE;
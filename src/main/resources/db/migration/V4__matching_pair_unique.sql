@@ -0,0 +1,15 @@
+-- 같은 두 유저 사이의 매칭은 방향과 상관없이 한 행만 (중복 탭, 서로 동시에 요청한 경우를 DB에서 막음)
+
+-- 기존 중복 정리: 쌍마다 수락된 행이 있으면 그중 가장 먼저 만든 것을, 없으면 가장 먼저 만든 요청을 남김
+DELETE m FROM matching m
+JOIN matching k
+  ON LEAST(k.sender_id, k.receiver_id) = LEAST(m.sender_id, m.receiver_id)
+ AND GREATEST(k.sender_id, k.receiver_id) = GREATEST(m.sender_id, m.receiver_id)
+ AND ((k.success = TRUE AND m.success = FALSE)
+   OR (k.success = m.success AND k.matching_id < m.matching_id));
+
+-- 정규화된 쌍 (작은 id, 큰 id), 애플리케이션은 쓰지 않고 MySQL이 계산
+ALTER TABLE matching
+    ADD COLUMN pair_low  BIGINT AS (LEAST(sender_id, receiver_id)) STORED,
+    ADD COLUMN pair_high BIGINT AS (GREATEST(sender_id, receiver_id)) STORED,
+    ADD UNIQUE KEY uk_matching_pair (pair_low, pair_high);
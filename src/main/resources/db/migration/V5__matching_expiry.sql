@@ -0,0 +1,29 @@
+-- 오래된 대기 중 매칭 요청을 옮겨 둘 보관 테이블 (matching과 같은 컬럼 + 보관 시각)
+CREATE TABLE matching_archive (
+    matching_id   BIGINT      NOT NULL,
+    sender_id     BIGINT      NOT NULL,
+    receiver_id   BIGINT      NOT NULL,
+    success       BIT         NOT NULL,
+    create_date   DATETIME(6),
+    modified_date DATETIME(6),
+    archived_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (matching_id),
+    KEY idx_matching_archive_receiver (receiver_id)
+) ENGINE = InnoDB;
+
+-- 만료 작업 진행 상황 (중단되면 같은 기준 시각으로 이어서 진행)
+CREATE TABLE matching_expiry_checkpoint (
+    job_name         VARCHAR(50) NOT NULL,
+    cutoff           DATETIME(6),
+    last_matching_id BIGINT      NOT NULL,
+    processed        BIGINT      NOT NULL,
+    started_date     DATETIME(6),
+    finished_date    DATETIME(6),
+    PRIMARY KEY (job_name)
+) ENGINE = InnoDB;
+
+INSERT INTO matching_expiry_checkpoint (job_name, cutoff, last_matching_id, processed, started_date, finished_date)
+VALUES ('matching-expiry', NULL, 0, 0, NULL, NOW(6));
+
+-- 대기 중 요청을 id 순으로 훑기 위한 인덱스 (오래된 요청일수록 id가 작음)
+CREATE INDEX idx_matching_pending ON matching (success, matching_id);
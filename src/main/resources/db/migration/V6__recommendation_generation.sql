@@ -0,0 +1,3 @@
+-- 추천 목록을 다시 쓸 때마다 바뀌는 세대 값 (배치 시작 시각 ms), /user/near 조건부 GET 버전으로 사용
+ALTER TABLE user_recommendation
+    ADD COLUMN generation BIGINT NOT NULL DEFAULT 0;
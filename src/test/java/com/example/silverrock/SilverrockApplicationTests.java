@@ -3,7 +3,7 @@ package com.example.silverrock;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.es256.allow-ephemeral-key=true")
 class SilverrockApplicationTests {
 
 	@Test
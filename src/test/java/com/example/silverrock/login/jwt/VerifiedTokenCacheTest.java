@@ -0,0 +1,113 @@
+package com.example.silverrock.login.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VerifiedTokenCacheTest {
+    private final Set<String> revokedJtis = new HashSet<>();
+
+    // Redis 없이 폐기 여부만 흉내냄
+    private final TokenRevocationService tokenRevocationService = new TokenRevocationService(null, null) {
+        @Override
+        public boolean isRevoked(String jti) {
+            return revokedJtis.contains(jti);
+        }
+    };
+
+    @Test
+    void returnsCachedUserId() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, tokenRevocationService);
+        cache.put("token-1", claims(1L, "jti-1", 60_000));
+
+        assertEquals(1L, cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+        assertEquals(1L, cache.stats().getHits());
+        assertEquals(1L, cache.stats().getMisses());
+    }
+
+    @Test
+    void revokedTokenIsNotServedFromCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, tokenRevocationService);
+        cache.put("token-1", claims(1L, "jti-1", 60_000));
+        assertEquals(1L, cache.get("token-1"));
+
+        revokedJtis.add("jti-1"); // 다른 노드에서 폐기됨
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void expiredTokenIsDropped() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, tokenRevocationService);
+        cache.put("token-1", claims(1L, "jti-1", 50));
+        Thread.sleep(200);
+
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void alreadyExpiredOrAnonymousClaimsAreNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, tokenRevocationService);
+        cache.put("expired", claims(1L, "jti-1", -1_000));
+        cache.put("anonymous", Jwts.claims().setId("jti-2").setExpiration(new Date(System.currentTimeMillis() + 60_000)));
+
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    void evictRemovesToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, tokenRevocationService);
+        cache.put("token-1", claims(1L, "jti-1", 60_000));
+        cache.evict("token-1");
+
+        assertNull(cache.get("token-1"));
+    }
+
+    @Test
+    void fullCacheShrinksByTenPercent() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, tokenRevocationService);
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, claims((long) i, "jti-" + i, 60_000));
+        }
+        assertEquals(100, cache.stats().getSize());
+
+        cache.put("token-new", claims(1_000L, "jti-new", 60_000));
+        assertEquals(91, cache.stats().getSize()); // 90개로 줄인 뒤 새 항목 추가
+        assertEquals(10L, cache.stats().getEvictions());
+        assertEquals(1_000L, cache.get("token-new"));
+    }
+
+    @Test
+    void shrinkDropsExpiredEntriesBeforeEvicting() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, tokenRevocationService);
+        for (int i = 0; i < 5; i++) {
+            cache.put("short-" + i, claims((long) i, "short-" + i, 50));
+        }
+        for (int i = 0; i < 5; i++) {
+            cache.put("long-" + i, claims((long) (100 + i), "long-" + i, 60_000));
+        }
+        Thread.sleep(200);
+
+        cache.put("token-new", claims(1_000L, "jti-new", 60_000));
+        assertEquals(6, cache.stats().getSize());
+        assertEquals(0L, cache.stats().getEvictions()); // 만료 제거는 밀려난 수에 포함하지 않음
+        for (int i = 0; i < 5; i++) {
+            assertEquals(100L + i, cache.get("long-" + i));
+        }
+    }
+
+    private static Claims claims(Long userId, String jti, long ttlMillis) {
+        Claims claims = Jwts.claims().setId(jti).setExpiration(new Date(System.currentTimeMillis() + ttlMillis));
+        claims.put("userId", userId);
+        return claims;
+    }
+}
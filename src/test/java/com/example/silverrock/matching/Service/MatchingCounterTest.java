@@ -0,0 +1,163 @@
+package com.example.silverrock.matching.Service;
+
+import com.example.silverrock.global.BatchLock;
+import com.example.silverrock.matching.dto.GetMatchingCountsRes;
+import com.example.silverrock.matching.repository.FriendshipRepository;
+import com.example.silverrock.matching.repository.MatchingRequestRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 컨테이너에서 카운터 스크립트(채우기, 증감, seq 확인 후 덮어쓰기) 동작 확인
+ * (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MatchingCounterTest {
+    private static final Long USER_ID = 1L;
+    private static final String KEY = "matching:count:" + USER_ID;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7.0-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final MatchingRequestRepository matchingRequestRepository = mock(MatchingRequestRepository.class);
+    private final FriendshipRepository friendshipRepository = mock(FriendshipRepository.class);
+    private final BatchLock batchLock = mock(BatchLock.class);
+    private final AtomicLong dbReceived = new AtomicLong(3);
+    private final AtomicLong dbFriends = new AtomicLong(2);
+    private Runnable duringCount = () -> { }; // MySQL에서 세는 도중 일어나는 일 (다른 요청의 커밋 등)
+
+    private StringRedisTemplate redis;
+    private MatchingCounter matchingCounter;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        redis = new StringRedisTemplate(connectionFactory);
+        matchingCounter = new MatchingCounter(redis, matchingRequestRepository, friendshipRepository, batchLock);
+        ReflectionTestUtils.setField(matchingCounter, "ttlHours", 168L);
+        ReflectionTestUtils.setField(matchingCounter, "reconcileMillis", 600_000L);
+
+        when(matchingRequestRepository.countPendingReceivedByUserIds(anyCollection())).thenAnswer(invocation -> {
+            long received = dbReceived.get();
+            duringCount.run();
+            return List.<Object[]>of(new Object[]{USER_ID, received});
+        });
+        when(friendshipRepository.countByUserIds(anyCollection()))
+                .thenAnswer(invocation -> List.<Object[]>of(new Object[]{USER_ID, dbFriends.get()}));
+        when(batchLock.runExclusively(anyString(), any(Duration.class), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+    }
+
+    @Test
+    void firstReadFillsFromDbWithTtl() {
+        assertCounts(3, 2, matchingCounter.get(USER_ID));
+        assertEquals("0", redis.opsForHash().get(KEY, "seq"));
+        assertTrue(redis.getExpire(KEY) > 0);
+    }
+
+    @Test
+    void incrementsApplyOnlyToExistingKeys() {
+        matchingCounter.apply(new MatchingCounter.Deltas().received(USER_ID, 1));
+        assertFalse(redis.hasKey(KEY)); // 없는 키는 다음 조회 때 MySQL에서 채움
+
+        matchingCounter.get(USER_ID);
+        matchingCounter.apply(new MatchingCounter.Deltas().received(USER_ID, 1).friends(USER_ID, -1));
+        assertCounts(4, 1, matchingCounter.get(USER_ID));
+        assertEquals("2", redis.opsForHash().get(KEY, "seq"));
+    }
+
+    @Test
+    void reconcileOverwritesDriftedKey() {
+        matchingCounter.get(USER_ID);
+        redis.opsForHash().put(KEY, "received", "99"); // 증감 누락 등으로 어긋난 값 (seq는 그대로)
+
+        matchingCounter.reconcile();
+
+        assertCounts(3, 2, matchingCounter.get(USER_ID));
+        verify(batchLock).runExclusively(eq("matching-counter-reconcile"), any(Duration.class), any(Runnable.class));
+    }
+
+    @Test
+    void reconcileKeepsIncrementMadeWhileCounting() {
+        matchingCounter.get(USER_ID);
+        duringCount = () -> { // MySQL은 3을 읽었지만 그 직후 새 요청이 커밋되어 증가
+            dbReceived.set(4);
+            matchingCounter.apply(new MatchingCounter.Deltas().received(USER_ID, 1));
+        };
+
+        matchingCounter.reconcile();
+        assertCounts(4, 2, matchingCounter.get(USER_ID)); // 오래된 3으로 덮어쓰지 않음
+
+        duringCount = () -> { };
+        redis.opsForHash().put(KEY, "received", "99");
+        matchingCounter.reconcile(); // 다음 주기에는 바로잡음
+        assertCounts(4, 2, matchingCounter.get(USER_ID));
+    }
+
+    @Test
+    void reconcileDoesNotRecreateExpiredKey() {
+        matchingCounter.get(USER_ID);
+        duringCount = () -> redis.delete(KEY); // SCAN 이후 만료됨
+
+        matchingCounter.reconcile();
+
+        assertFalse(redis.hasKey(KEY));
+    }
+
+    @Test
+    void reconcileRestoresMissingTtl() {
+        matchingCounter.get(USER_ID);
+        redis.persist(KEY);
+
+        matchingCounter.reconcile();
+
+        assertTrue(redis.getExpire(KEY) > 0);
+    }
+
+    private static void assertCounts(long received, long friends, GetMatchingCountsRes counts) {
+        assertEquals(received, counts.getReceived());
+        assertEquals(friends, counts.getFriends());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.silverrock.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * db/migration 을 MySQL 컨테이너에 적용하고 자주 쓰는 조회가 의도한 인덱스를 타는지 EXPLAIN 으로 확인
+ * (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class HotLookupIndexExplainTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.33");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .load()
+                .migrate();
+
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement user = connection.prepareStatement(
+                    "insert into `user` (id, phone_num, gender, nickname, birth, region, password, introduce) values (?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement location = connection.prepareStatement(
+                    "insert into user_location (user_id, location) values (?, ST_GeomFromText(?, 4326, 'axis-order=long-lat'))")) {
+                for (long id = 1; id <= 2000; id++) {
+                    user.setLong(1, id);
+                    user.setString(2, "010" + (10_000_000 + id));
+                    user.setString(3, id % 2 == 0 ? "F" : "M");
+                    user.setString(4, "nick" + id);
+                    user.setString(5, "1950");
+                    user.setString(6, "region" + (id % 40));
+                    user.setString(7, "pw");
+                    user.setString(8, "hello");
+                    user.addBatch();
+                    location.setLong(1, id);
+                    location.setString(2, "POINT(" + (126.0 + (id % 100) * 0.01) + " " + (37.0 + (id / 100) * 0.01) + ")");
+                    location.addBatch();
+                }
+                user.executeBatch();
+                location.executeBatch();
+            }
+            try (PreparedStatement matching = connection.prepareStatement(
+                    "insert into matching (sender_id, receiver_id, success) values (?, ?, ?)")) {
+                // uk_matching_pair 때문에 두 유저 쌍은 한 번만: receiver = sender + k (k = 1..3, 2000명 기준 순환)
+                for (long i = 0; i < 5000; i++) {
+                    long sender = 1 + (i % 2000);
+                    long gap = 1 + i / 2000;
+                    matching.setLong(1, sender);
+                    matching.setLong(2, 1 + ((sender - 1 + gap) % 2000));
+                    matching.setBoolean(3, i % 3 == 0);
+                    matching.addBatch();
+                }
+                matching.executeBatch();
+            }
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze table `user`, matching, user_location");
+            }
+        }
+    }
+
+    @Test
+    void loginLooksUpPhoneNumberByUniqueIndex() throws SQLException {
+        assertEquals("uk_user_phone_num", explainKey("select id, password from `user` where phone_num = '01010000042'"));
+    }
+
+    @Test
+    void nicknameCheckUsesUniqueIndex() throws SQLException {
+        assertEquals("uk_user_nickname", explainKey("select id from `user` where nickname = 'nick42' limit 1"));
+    }
+
+    @Test
+    void nearUsersWalkRegionIdIndex() throws SQLException {
+        assertEquals("idx_user_region_id", explainKey(
+                "select id from `user` where region = 'region7' and id <> 7 and id > 100 order by id limit 21"));
+    }
+
+    @Test
+    void receivedRequestsWalkReceiverIndex() throws SQLException {
+        assertEquals("idx_matching_receiver_success", explainKey(
+                "select matching_id from matching where receiver_id = 20 and success = false and matching_id > 0 order by matching_id limit 20"));
+    }
+
+    @Test
+    void sentRequestsWalkSenderIndex() throws SQLException {
+        assertEquals("idx_matching_sender_success", explainKey(
+                "select matching_id from matching where sender_id = 20 and success = true and matching_id > 0 order by matching_id limit 20"));
+    }
+
+    @Test
+    void pairLookupUsesPairUniqueKey() throws SQLException {
+        assertEquals("uk_matching_pair", explainKey("select matching_id from matching where pair_low = 20 and pair_high = 21"));
+    }
+
+    @Test
+    void radiusSearchCanUseSpatialIndex() throws SQLException {
+        String possibleKeys = explain("select user_id from user_location " +
+                "where MBRContains(ST_GeomFromText('POLYGON((126.1 37.0, 126.2 37.0, 126.2 37.1, 126.1 37.1, 126.1 37.0))', 4326, 'axis-order=long-lat'), location)",
+                "possible_keys");
+        assertTrue(possibleKeys != null && possibleKeys.contains("idx_user_location_location"), possibleKeys);
+    }
+
+    private static String explainKey(String sql) throws SQLException {
+        return explain(sql, "key");
+    }
+
+    private static String explain(String sql, String column) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("explain " + sql)) {
+            assertTrue(resultSet.next());
+            return resultSet.getString(column);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+    }
+}
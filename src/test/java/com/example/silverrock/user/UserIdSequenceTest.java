@@ -0,0 +1,108 @@
+package com.example.silverrock.user;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IDENTITY 시절 유저가 있는 DB를 V1 까지 만든 뒤 나머지 마이그레이션을 적용하고,
+ * JPA(시퀀스, allocationSize = 50)로 가입시킨 유저 id가 기존 id와 겹치지 않는지 확인
+ * 마지막 유저는 바로 앞 유저와 휴대폰번호/닉네임이 같아, V2가 유니크 키를 걸기 전에 중복을 정리하는지도 확인
+ * (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserIdSequenceTest {
+    private static final long EXISTING_USERS = 120;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.33");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.spatial.dialect.mysql.MySQL8SpatialDialect");
+    }
+
+    // 스프링 컨텍스트(나머지 마이그레이션)보다 먼저 실행됨
+    @BeforeAll
+    static void seedBeforeSequenceMigration() throws SQLException {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .target("1")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+             PreparedStatement user = connection.prepareStatement(
+                     "insert into `user` (id, phone_num, gender, nickname, birth, region, password, introduce) values (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= EXISTING_USERS; id++) {
+                long unique = (id == EXISTING_USERS) ? id - 1 : id; // 예전 앱은 중복을 막지 않았음
+                user.setLong(1, id);
+                user.setString(2, "010" + (10_000_000 + unique));
+                user.setString(3, "F");
+                user.setString(4, "old" + unique);
+                user.setString(5, "1950");
+                user.setString(6, "seoul");
+                user.setString(7, "pw");
+                user.setString(8, "hello");
+                user.addBatch();
+            }
+            user.executeBatch();
+        }
+    }
+
+    @Test
+    void duplicatesAreRenamedBeforeUniqueKeys() {
+        User first = userRepository.findById(EXISTING_USERS - 1).orElseThrow();
+        User duplicate = userRepository.findById(EXISTING_USERS).orElseThrow();
+        assertEquals("old" + (EXISTING_USERS - 1), first.getNickname());
+        assertEquals("old" + (EXISTING_USERS - 1) + "#" + EXISTING_USERS, duplicate.getNickname());
+        assertEquals(first.getPhoneNum() + "#" + EXISTING_USERS, duplicate.getPhoneNum());
+    }
+
+    @Test
+    void signupsAfterMigrationGetFreshIds() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 60; i++) { // 할당 블록(50)을 넘어가도록
+            User saved = userRepository.saveAndFlush(User.builder()
+                    .phoneNum("010" + (20_000_000 + i))
+                    .gender("M")
+                    .nickname("new" + i)
+                    .birth("1955")
+                    .region("seoul")
+                    .password("pw")
+                    .introduce("hi")
+                    .build());
+            assertTrue(saved.getId() > EXISTING_USERS, "id " + saved.getId() + " overlaps an existing user");
+            ids.add(saved.getId());
+        }
+        assertEquals(60, ids.size());
+        assertEquals(EXISTING_USERS + 60, userRepository.count());
+    }
+}
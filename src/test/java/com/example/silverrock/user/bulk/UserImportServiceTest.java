@@ -0,0 +1,54 @@
+package com.example.silverrock.user.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserImportServiceTest {
+
+    @Test
+    void splitsPlainValues() {
+        assertEquals(List.of("01012345678", "F", "nick", "1950"), UserImportService.parseCsvLine("01012345678,F,nick,1950"));
+    }
+
+    @Test
+    void keepsEmptyValues() {
+        assertEquals(List.of("a", "", "", "b", ""), UserImportService.parseCsvLine("a,,,b,"));
+        assertEquals(List.of(""), UserImportService.parseCsvLine(""));
+    }
+
+    @Test
+    void quotedValueMayContainCommas() {
+        assertEquals(List.of("nick", "안녕하세요, 반가워요", "seoul"),
+                UserImportService.parseCsvLine("nick,\"안녕하세요, 반가워요\",seoul"));
+    }
+
+    @Test
+    void doubledQuoteIsAnEscapedQuote() {
+        assertEquals(List.of("say \"hi\"", "x"), UserImportService.parseCsvLine("\"say \"\"hi\"\"\",x"));
+        assertEquals(List.of("\""), UserImportService.parseCsvLine("\"\"\"\""));
+    }
+
+    @Test
+    void emptyQuotedValue() {
+        assertEquals(List.of("", "b"), UserImportService.parseCsvLine("\"\",b"));
+    }
+
+    @Test
+    void quotedPartInsideValueIsJoined() {
+        assertEquals(List.of("ab,c"), UserImportService.parseCsvLine("a\"b,c\""));
+    }
+
+    @Test
+    void keepsSurroundingSpaces() {
+        assertEquals(List.of(" a ", " b"), UserImportService.parseCsvLine(" a , b"));
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> UserImportService.parseCsvLine("a,\"b,c"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.silverrock.user.region;
+
+import com.example.silverrock.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RegionIndexTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RegionIndex regionIndex = new RegionIndex(userRepository);
+
+    @Test
+    void buildGroupsUsersByRegionInIdOrder() {
+        loadInChunks(rows(1, "A", 2, "B", 3, "A"), rows(5, "A", 7, "B"));
+        assertFalse(regionIndex.isReady());
+
+        regionIndex.build();
+
+        assertTrue(regionIndex.isReady());
+        assertArrayEquals(new long[]{1, 3, 5}, all("A"));
+        assertArrayEquals(new long[]{2, 7}, all("B"));
+        assertEquals("A", regionIndex.regionOf(5L));
+        assertEquals("B", regionIndex.regionOf(2L));
+        assertNull(regionIndex.regionOf(4L));
+    }
+
+    @Test
+    void idsAfterPagesByIdAndSkipsMe() {
+        loadInChunks(rows(1, "A", 3, "A", 5, "A", 8, "A"));
+        regionIndex.build();
+
+        assertArrayEquals(new long[]{1, 5}, regionIndex.idsAfter("A", 3L, 0L, 2));
+        assertArrayEquals(new long[]{5, 8}, regionIndex.idsAfter("A", 3L, 3L, 5));
+        assertArrayEquals(new long[]{5, 8}, regionIndex.idsAfter("A", 0L, 4L, 5)); // 없는 id 다음부터
+        assertArrayEquals(new long[0], regionIndex.idsAfter("A", 0L, 8L, 5));
+        assertArrayEquals(new long[0], regionIndex.idsAfter("Z", 0L, 0L, 5));
+    }
+
+    @Test
+    void addAndMoveKeepRegionsSorted() {
+        loadInChunks(rows(1, "A", 3, "A", 5, "A", 2, "B"));
+        regionIndex.build();
+
+        regionIndex.add(4L, "A");
+        assertArrayEquals(new long[]{1, 3, 4, 5}, all("A"));
+        regionIndex.add(4L, "A"); // 중복 추가는 무시
+        assertArrayEquals(new long[]{1, 3, 4, 5}, all("A"));
+
+        regionIndex.move(3L, "A", "B");
+        assertArrayEquals(new long[]{1, 4, 5}, all("A"));
+        assertArrayEquals(new long[]{2, 3}, all("B"));
+        assertEquals("B", regionIndex.regionOf(3L));
+
+        regionIndex.move(2L, "B", "C");
+        regionIndex.move(3L, "B", "C");
+        assertArrayEquals(new long[0], all("B")); // 마지막 유저가 나가면 지역 제거
+        assertArrayEquals(new long[]{2, 3}, all("C"));
+
+        regionIndex.move(1L, "A", "A"); // 같은 지역이면 그대로
+        assertArrayEquals(new long[]{1, 4, 5}, all("A"));
+    }
+
+    @Test
+    void moveCommittedWhileBuildingIsNotUndone() {
+        // 첫 청크는 이동 전 스냅샷(3번 유저가 A), 다음 청크를 읽기 전에 이동과 가입이 커밋됨
+        List<Object[]> first = rows(1, "A", 2, "B", 3, "A");
+        List<Object[]> second = rows(4, "B");
+        when(userRepository.findIdAndRegionAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long cursor = invocation.getArgument(0);
+            if (cursor == 0L) {
+                return first;
+            }
+            if (cursor == 3L) {
+                regionIndex.move(3L, "A", "B");
+                regionIndex.add(9L, "C");
+                regionIndex.move(4L, "B", "A"); // 아직 적재되지 않은 유저, 다음 청크는 이동 전 값(B)
+                return second;
+            }
+            return List.of();
+        });
+
+        regionIndex.build();
+
+        assertArrayEquals(new long[]{1, 4}, all("A"));
+        assertArrayEquals(new long[]{2, 3}, all("B"));
+        assertArrayEquals(new long[]{9}, all("C"));
+        assertEquals("B", regionIndex.regionOf(3L));
+        assertEquals("A", regionIndex.regionOf(4L));
+
+        regionIndex.move(3L, "B", "A"); // 적재가 끝난 뒤의 이동은 배열에만 반영
+        assertArrayEquals(new long[]{1, 3, 4}, all("A"));
+        assertArrayEquals(new long[]{2}, all("B"));
+    }
+
+    private long[] all(String region) {
+        return regionIndex.idsAfter(region, 0L, 0L, Integer.MAX_VALUE);
+    }
+
+    // id 순 청크를 차례로 돌려주는 findIdAndRegionAfter
+    @SafeVarargs
+    private void loadInChunks(List<Object[]>... chunks) {
+        List<List<Object[]>> remaining = new ArrayList<>(Arrays.asList(chunks));
+        when(userRepository.findIdAndRegionAfter(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> remaining.isEmpty() ? List.of() : remaining.remove(0));
+    }
+
+    private static List<Object[]> rows(Object... idAndRegion) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < idAndRegion.length; i += 2) {
+            rows.add(new Object[]{((Integer) idAndRegion[i]).longValue(), idAndRegion[i + 1]});
+        }
+        return rows;
+    }
+}